@@ -0,0 +1,61 @@
+package com.assignment.cryptoanalyzer.benchmark;
+
+import com.assignment.cryptoanalyzer.cache.PriceSeries;
+import com.assignment.cryptoanalyzer.cache.SeriesStats;
+import com.assignment.cryptoanalyzer.converter.CryptoConverter;
+import com.assignment.cryptoanalyzer.dto.CryptoDTO;
+import com.assignment.cryptoanalyzer.model.CryptoModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link CryptoConverter} turning fixed-point models into response DTOs, for models built from
+ * synthetic series of {@code ticks} ticks over {@code symbols} currencies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private long ticks;
+
+    @Param({"10", "500"})
+    private int symbols;
+
+    private final CryptoConverter converter = new CryptoConverter();
+    private List<CryptoModel> models;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        models = new ArrayList<>(symbols);
+        for (PriceSeries series : SyntheticTicks.series(SyntheticTicks.symbols(symbols), ticks)) {
+            SeriesStats stats = series.stats();
+            models.add(CryptoModel.builder()
+                    .currencyCode(series.getCurrencyCode())
+                    .minPrice(stats.getMinPrice())
+                    .maxPrice(stats.getMaxPrice())
+                    .averagePrice(stats.getAveragePrice())
+                    .oldestPrice(stats.getOldestPrice())
+                    .newestPrice(stats.getNewestPrice())
+                    .normalizedRange(stats.getNormalizedRange())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public CryptoDTO convertOne() {
+        return converter.convertFromModelToDTO(models.get(0));
+    }
+
+    @Benchmark
+    public List<CryptoDTO> convertRanking() {
+        return converter.convertFromModelToStatsList(models);
+    }
+}
@@ -0,0 +1,75 @@
+package com.assignment.cryptoanalyzer.benchmark;
+
+import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.metrics.CryptoMetrics;
+import com.assignment.cryptoanalyzer.model.CsvReadResult;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import com.assignment.cryptoanalyzer.service.impl.FileServiceImpl;
+import com.assignment.cryptoanalyzer.util.MappedCsvReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of CSV ingestion on a synthetic {@code timestamp,symbol,price} file of {@code ticks} rows:
+ * the memory-mapped parallel reader used at startup and the streaming parser behind uploads.
+ *
+ * <p>The file is written once per trial into the temporary directory. The default sizes go up to 10^7 rows, a few
+ * hundred megabytes of disk. 10^8 rows need several gigabytes of disk and an explicit run with a larger heap:
+ * {@code java -jar target/benchmarks.jar CsvParsingBenchmark -p ticks=100000000 -jvmArgsAppend "-Xms8g -Xmx8g"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CsvParsingBenchmark {
+
+    private static final int BATCH_SIZE = 65_536;
+
+    @Param({"1000", "100000", "10000000"})
+    private long ticks;
+
+    @Param({"10"})
+    private int symbols;
+
+    private List<String> currencyCodes;
+    private FileServiceImpl fileService;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        currencyCodes = SyntheticTicks.symbols(symbols);
+        file = Files.createTempFile("prices", ".csv");
+        SyntheticTicks.writeCsv(file, currencyCodes, ticks);
+        ApplicationProp applicationProp = new ApplicationProp();
+        applicationProp.setCurrencyCode(currencyCodes);
+        fileService = new FileServiceImpl(applicationProp, new CryptoMetrics(new SimpleMeterRegistry()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<TickBatch> mappedParallelRead() throws IOException {
+        return MappedCsvReader.read(file, currencyCodes, BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public CsvReadResult streamingRead(Blackhole blackhole) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return fileService.readData(inputStream, BATCH_SIZE, currencyCodes, blackhole::consume);
+        }
+    }
+}
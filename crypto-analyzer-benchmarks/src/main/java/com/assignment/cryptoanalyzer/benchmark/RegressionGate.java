@@ -0,0 +1,156 @@
+package com.assignment.cryptoanalyzer.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares them with a stored baseline.
+ *
+ * <p>Every benchmark/parameter combination is compared on two metrics, both lower-is-better: the average
+ * time per operation and the bytes allocated per operation ({@code gc.alloc.rate.norm}). When either grows
+ * by more than {@code benchmark.threshold} (a fraction, e.g. {@code 0.10}) the regressions are printed and
+ * the process exits with status 1, which fails the Maven build. A combination missing from the baseline
+ * fails the build as well, so a gate without a recorded baseline cannot pass; record it with
+ * {@code benchmark.updateBaseline}.
+ *
+ * <p>System properties:
+ * <ul>
+ *     <li>{@code benchmark.include} - regular expression selecting the benchmarks.</li>
+ *     <li>{@code benchmark.ticks} - comma-separated dataset sizes, overriding the {@code ticks} parameter.</li>
+ *     <li>{@code benchmark.threshold} - allowed relative growth of time and allocation.</li>
+ *     <li>{@code benchmark.baseline} - properties file with the baseline scores.</li>
+ *     <li>{@code benchmark.updateBaseline} - when {@code true}, the results are written as the new baseline
+ *     instead of being compared.</li>
+ *     <li>{@code benchmark.result} - JSON file receiving the full JMH results.</li>
+ * </ul>
+ */
+public final class RegressionGate {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private RegressionGate() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        double threshold = Double.parseDouble(System.getProperty("benchmark.threshold", "0.10"));
+        Path baselineFile = Paths.get(System.getProperty("benchmark.baseline", "baseline.properties"));
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("benchmark.include", RegressionGate.class.getPackageName() + ".*"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("benchmark.result", "target/jmh-result.json"));
+        String ticks = System.getProperty("benchmark.ticks", "");
+        if (!ticks.isBlank()) {
+            options.param("ticks", ticks.split(","));
+        }
+        Map<String, Double> scores = scores(new Runner(options.build()).run());
+
+        if (Boolean.getBoolean("benchmark.updateBaseline")) {
+            writeBaseline(baselineFile, scores);
+            System.out.println("Baseline written to " + baselineFile);
+            return;
+        }
+        Properties baseline = readBaseline(baselineFile);
+        List<String> missing = scores.keySet().stream()
+                .filter(key -> baseline.getProperty(key) == null)
+                .toList();
+        List<String> regressions = compare(baseline, scores, threshold);
+        if (!missing.isEmpty()) {
+            System.err.println("No baseline in " + baselineFile + " for:");
+            missing.forEach(key -> System.err.println("  " + key));
+            System.err.println("Record it on this machine with -Dbenchmark.updateBaseline=true");
+        }
+        if (!regressions.isEmpty()) {
+            System.err.println("Benchmark regressions above " + Math.round(threshold * 100) + "%:");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+        }
+        if (!missing.isEmpty() || !regressions.isEmpty()) {
+            System.exit(1);
+        }
+        System.out.println("No benchmark regressions above " + Math.round(threshold * 100) + "%");
+    }
+
+    /**
+     * Returns the score of every benchmark/parameter combination under {@code <key>.time} and, when the GC
+     * profiler reported it, {@code <key>.alloc}.
+     */
+    private static Map<String, Double> scores(Collection<RunResult> results) {
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult result : results) {
+            String key = key(result);
+            scores.put(key + ".time", result.getPrimaryResult().getScore());
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith(ALLOCATION)) {
+                    scores.put(key + ".alloc", secondary.getValue().getScore());
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static String key(RunResult result) {
+        String benchmark = result.getParams().getBenchmark();
+        StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        for (String param : result.getParams().getParamsKeys()) {
+            key.append('.').append(param).append('-').append(result.getParams().getParam(param));
+        }
+        return key.toString();
+    }
+
+    private static List<String> compare(Properties baseline, Map<String, Double> scores, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            String stored = baseline.getProperty(score.getKey());
+            if (stored == null) {
+                continue;
+            }
+            double expected = Double.parseDouble(stored);
+            // Allocations of a few bytes per operation are noise of the profiler, not a regression.
+            double limit = score.getKey().endsWith(".alloc") ? Math.max(expected * (1 + threshold), expected + 16)
+                    : expected * (1 + threshold);
+            if (score.getValue() > limit) {
+                regressions.add(String.format("%s: %.3f, baseline %.3f (+%.1f%%)", score.getKey(), score.getValue(),
+                        expected, (score.getValue() / expected - 1) * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static Properties readBaseline(Path file) throws IOException {
+        Properties baseline = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                baseline.load(inputStream);
+            }
+        }
+        return baseline;
+    }
+
+    private static void writeBaseline(Path file, Map<String, Double> scores) throws IOException {
+        Properties baseline = readBaseline(file);
+        scores.forEach((key, score) -> baseline.setProperty(key, String.valueOf(score)));
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            baseline.store(outputStream, "Benchmark baseline: average time in us/op (.time) and bytes per op (.alloc)");
+        }
+    }
+}
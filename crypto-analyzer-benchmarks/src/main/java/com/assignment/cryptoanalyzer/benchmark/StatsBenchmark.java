@@ -0,0 +1,133 @@
+package com.assignment.cryptoanalyzer.benchmark;
+
+import com.assignment.cryptoanalyzer.cache.PriceSeries;
+import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.config.auto.CacheProp;
+import com.assignment.cryptoanalyzer.converter.CryptoConverter;
+import com.assignment.cryptoanalyzer.dto.CryptoDTO;
+import com.assignment.cryptoanalyzer.service.impl.CryptoServiceImpl;
+import com.assignment.cryptoanalyzer.service.impl.CryptoStatsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link CryptoStatsServiceImpl} endpoints on in-memory synthetic series.
+ *
+ * <p>{@code ticks} is the total number of ticks, spread evenly over {@code symbols} currencies. The default
+ * datasets go up to 10^7 ticks, which fit in the fork's 2 GB heap. 10^8 ticks need an explicit run with a
+ * larger heap: {@code java -jar target/benchmarks.jar StatsBenchmark -p ticks=100000000 -jvmArgsAppend "-Xms8g -Xmx8g"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class StatsBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private long ticks;
+
+    @Param({"10", "500"})
+    private int symbols;
+
+    private List<String> currencyCodes;
+    private CryptoServiceImpl cryptoService;
+    private CryptoStatsServiceImpl statsService;
+    private LocalDate middleDate;
+    private LocalDateTime rangeFrom;
+    private LocalDateTime rangeTo;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        currencyCodes = SyntheticTicks.symbols(symbols);
+        Map<String, PriceSeries> series = new HashMap<>();
+        for (PriceSeries loaded : SyntheticTicks.series(currencyCodes, ticks)) {
+            series.put(loaded.getCurrencyCode(), loaded);
+        }
+        ApplicationProp applicationProp = new ApplicationProp();
+        applicationProp.setCurrencyCode(currencyCodes);
+        cryptoService = new InMemoryCryptoService(series);
+        statsService = new CryptoStatsServiceImpl(applicationProp, cryptoService, new CryptoConverter(), null, new CacheProp());
+        statsService.initialize();
+
+        long span = SyntheticTicks.ticksPerSymbol(currencyCodes, ticks) * SyntheticTicks.STEP;
+        ZoneId zone = ZoneId.systemDefault();
+        middleDate = Instant.ofEpochMilli(SyntheticTicks.START + span / 2).atZone(zone).toLocalDate();
+        rangeFrom = LocalDateTime.ofInstant(Instant.ofEpochMilli(SyntheticTicks.START + span / 4), zone);
+        rangeTo = LocalDateTime.ofInstant(Instant.ofEpochMilli(SyntheticTicks.START + span * 3 / 4), zone);
+        statsService.getCurrencyStatsOrderNormalizedRange();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        statsService.shutdown();
+    }
+
+    @Benchmark
+    public CryptoDTO statsForCurrency() {
+        return statsService.getStatsForCurrency(nextCurrency());
+    }
+
+    @Benchmark
+    public CryptoDTO statsForRange() {
+        return statsService.getStatsForRange(nextCurrency(), rangeFrom, rangeTo);
+    }
+
+    @Benchmark
+    public List<CryptoDTO> normalizedRanking() {
+        return statsService.getCurrencyStatsOrderNormalizedRange();
+    }
+
+    @Benchmark
+    public List<CryptoDTO> normalizedRankingRecomputed() {
+        currencyCodes.forEach(cryptoService.getRanking()::invalidate);
+        return statsService.getCurrencyStatsOrderNormalizedRange();
+    }
+
+    @Benchmark
+    public CryptoDTO highestByDate() {
+        return statsService.getStatsByDate(middleDate.getDayOfMonth(), middleDate.getMonthValue(), middleDate.getYear());
+    }
+
+    private String nextCurrency() {
+        next = (next + 1) % currencyCodes.size();
+        return currencyCodes.get(next);
+    }
+
+    /**
+     * Serves prebuilt series instead of loading them from the database.
+     */
+    private static final class InMemoryCryptoService extends CryptoServiceImpl {
+
+        private final Map<String, PriceSeries> series;
+
+        InMemoryCryptoService(Map<String, PriceSeries> series) {
+            super(null, null, null, null, new CacheProp(), null, null);
+            this.series = series;
+        }
+
+        @Override
+        public PriceSeries getCryptoData(String currencyCode) {
+            return series.get(currencyCode);
+        }
+
+        @Override
+        public boolean isCold(String currencyCode) {
+            return false;
+        }
+
+        @Override
+        public void hydrateAsync(String currencyCode) {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.assignment.cryptoanalyzer.benchmark;
+
+import com.assignment.cryptoanalyzer.cache.PriceSeries;
+import com.assignment.cryptoanalyzer.config.auto.GeneratorProp;
+import com.assignment.cryptoanalyzer.util.MarketDataGenerator;
+import com.assignment.cryptoanalyzer.util.TickFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic synthetic price data for the benchmarks, produced by the application's
+ * {@link MarketDataGenerator}: every symbol gets one tick per minute starting at {@link #START}, with prices
+ * following the generator's regime-switching random walk. The same seed always yields the same dataset, so
+ * results of different runs are comparable.
+ */
+final class SyntheticTicks {
+
+    static final long START = 1_640_995_200_000L; // 2022-01-01T00:00:00Z
+    static final long STEP = 60_000L;
+
+    private static final int BATCH_SIZE = 65_536;
+    private static final long SEED = 42L;
+
+    private SyntheticTicks() {
+    }
+
+    static List<String> symbols(int count) {
+        GeneratorProp prop = new GeneratorProp();
+        prop.setSymbolCount(count);
+        return MarketDataGenerator.symbols(prop, List.of());
+    }
+
+    /**
+     * Builds one series per symbol holding {@code totalTicks / symbols.size()} ticks each.
+     */
+    static List<PriceSeries> series(List<String> symbols, long totalTicks) {
+        Map<String, PriceSeries> series = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            series.put(symbol, new PriceSeries(symbol));
+        }
+        generator(symbols, totalTicks).generate(batch -> batch.splitByCurrency().forEach((symbol, ticks) ->
+                series.get(symbol).appendBatch(ticks.getTimestamps(), ticks.getPrices(), ticks.size())));
+        return new ArrayList<>(series.values());
+    }
+
+    /**
+     * Writes {@code totalTicks} ticks in the {@code timestamp,symbol,price} layout read by the application,
+     * interleaving the symbols like a live feed.
+     */
+    static void writeCsv(Path file, List<String> symbols, long totalTicks) throws IOException {
+        try (TickFileWriter writer = TickFileWriter.csv(file)) {
+            generator(symbols, totalTicks).generate(writer);
+        }
+    }
+
+    static int ticksPerSymbol(List<String> symbols, long totalTicks) {
+        return (int) Math.max(1, totalTicks / symbols.size());
+    }
+
+    private static MarketDataGenerator generator(List<String> symbols, long totalTicks) {
+        GeneratorProp prop = new GeneratorProp();
+        prop.setSymbols(symbols);
+        prop.setStart(Instant.ofEpochMilli(START));
+        prop.setDuration(Duration.ofMillis(ticksPerSymbol(symbols, totalTicks) * STEP));
+        prop.setTicksPerSecond(1_000.0 / STEP);
+        prop.setPoissonArrivals(false);
+        prop.setSeed(SEED);
+        prop.setBatchSize(BATCH_SIZE);
+        return new MarketDataGenerator(prop);
+    }
+}
@@ -0,0 +1,41 @@
+package com.assignment.cryptoanalyzer.cache;
+
+/**
+ * Immutable counters of a {@link SeriesCache} at one point in time.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int symbols;
+    private final long ticks;
+
+    CacheStats(long hits, long misses, long evictions, int symbols, long ticks) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.symbols = symbols;
+        this.ticks = ticks;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getSymbols() {
+        return symbols;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,26 @@
+package com.assignment.cryptoanalyzer.cache;
+
+/**
+ * Addressing helpers for columns stored as fixed-size chunks ({@code long[][]}).
+ *
+ * <p>Every chunk holds {@link #SIZE} values, so element {@code i} lives at
+ * {@code chunks[i >>> SHIFT][i & MASK]}. Chunks are never resized or moved; a column grows by
+ * adding chunks, which only copies the small array of chunk references.
+ */
+final class Chunks {
+
+    static final int SHIFT = 12;
+    static final int SIZE = 1 << SHIFT;
+    static final int MASK = SIZE - 1;
+
+    private Chunks() {
+    }
+
+    static long get(long[][] chunks, int index) {
+        return chunks[index >>> SHIFT][index & MASK];
+    }
+
+    static int chunkCount(int size) {
+        return (size + SIZE - 1) >>> SHIFT;
+    }
+}
@@ -0,0 +1,82 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversion between {@link BigDecimal} prices and the fixed-point {@code long}
+ * representation used by {@link PriceSeries}.
+ *
+ * <p>A scaled price is the decimal price multiplied by {@code 10^SCALE}. The scale matches
+ * the {@code DECIMAL(18, 8)} column of the {@code crypto_currency} table, so every value
+ * that can be stored in the database fits into a {@code long} without loss.
+ *
+ * <p>Statistics are computed on scaled values only: comparisons are plain {@code long} comparisons and the
+ * normalized range is computed by {@link #normalizedRange(long, long)} with integer arithmetic. Values are
+ * turned into {@link BigDecimal} only when a response is built.
+ */
+public final class FixedPointPrice {
+
+    public static final int SCALE = 8;
+
+    /**
+     * Scaled value of a price of 1, i.e. {@code 10^SCALE}.
+     */
+    public static final long FACTOR = 100_000_000L;
+
+    /**
+     * Number of decimals of a normalized range.
+     */
+    public static final int RANGE_SCALE = 5;
+
+    /**
+     * Largest scaled price the {@code DECIMAL(18, 8)} column holds: 10 integer digits and 8 decimals.
+     */
+    public static final long MAX_STORABLE = 999_999_999_999_999_999L;
+
+    private static final long RANGE_FACTOR = 100_000L;
+
+    private FixedPointPrice() {
+    }
+
+    public static long toScaled(BigDecimal price) {
+        return price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Returns whether {@code scaledPrice} fits into the {@code DECIMAL(18, 8)} column, i.e. has at most
+     * 10 integer digits.
+     */
+    public static boolean isStorable(long scaledPrice) {
+        return scaledPrice >= -MAX_STORABLE && scaledPrice <= MAX_STORABLE;
+    }
+
+    public static BigDecimal toDecimal(long scaledPrice) {
+        BigDecimal price = BigDecimal.valueOf(scaledPrice, SCALE).stripTrailingZeros();
+        return price.scale() < 0 ? price.setScale(0) : price;
+    }
+
+    /**
+     * Returns {@code (max - min) / min} of two scaled prices as a value with {@link #RANGE_SCALE} decimals,
+     * rounded half up, or 0 when {@code min} is not positive. The result is exactly what the same division
+     * of the decimal prices would give.
+     */
+    public static long normalizedRange(long min, long max) {
+        if (min <= 0) {
+            return 0L;
+        }
+        long difference = max - min;
+        if (difference > Long.MAX_VALUE / RANGE_FACTOR) {
+            return BigDecimal.valueOf(difference).divide(BigDecimal.valueOf(min), RANGE_SCALE, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        }
+        long scaled = difference * RANGE_FACTOR;
+        long quotient = scaled / min;
+        long remainder = scaled % min;
+        return remainder >= min - remainder ? quotient + 1 : quotient;
+    }
+
+    public static BigDecimal rangeToDecimal(long normalizedRange) {
+        return BigDecimal.valueOf(normalizedRange, RANGE_SCALE);
+    }
+}
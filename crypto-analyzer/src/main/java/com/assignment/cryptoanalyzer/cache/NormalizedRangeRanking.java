@@ -0,0 +1,123 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Maintained ranking of currencies by their all-time normalized range, highest first.
+ *
+ * <p>Ranges are recorded whenever they change, e.g. after a series was loaded or new ticks were appended,
+ * so a ranking request walks an already sorted set instead of computing and sorting every currency. A
+ * currency whose range is no longer known (new ticks arrived while it was not cached) is removed with
+ * {@link #invalidate(String)} and has to be recorded again before it is ranked.
+ *
+ * <p>A range is computed from data that may change while it is computed, so every update carries the
+ * {@link SymbolVersions} version read before computing and is dropped when the version has changed since.
+ * {@link #invalidate(String)} bumps the version on the same monitor, so a range computed from data older than
+ * the latest new ticks can neither be recorded after the invalidation nor survive it.
+ *
+ * <p>Writers are serialized on the ranking monitor; they only replace the entry of one currency, which
+ * costs {@code O(log n)}. Readers never lock and see a weakly consistent, sorted view.
+ */
+public final class NormalizedRangeRanking {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::getNormalizedRange).reversed()
+            .thenComparing(Entry::getCurrencyCode);
+
+    private final Map<String, Entry> byCurrency = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(ORDER);
+    private final SymbolVersions versions;
+
+    public NormalizedRangeRanking(SymbolVersions versions) {
+        this.versions = versions;
+    }
+
+    /**
+     * Returns the version of {@code currencyCode} to read before computing a range for {@link #update}.
+     */
+    public long version(String currencyCode) {
+        return versions.version(currencyCode);
+    }
+
+    /**
+     * Records the normalized range (scaled by {@link FixedPointPrice#RANGE_SCALE}) of {@code currencyCode},
+     * computed from the data of {@code version}.
+     *
+     * @return {@code false} when new ticks arrived since {@code version} and the range was dropped
+     */
+    public synchronized boolean update(String currencyCode, long normalizedRange, long version) {
+        if (versions.version(currencyCode) != version) {
+            return false;
+        }
+        Entry entry = new Entry(currencyCode, normalizedRange);
+        Entry previous = byCurrency.put(currencyCode, entry);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        ranked.add(entry);
+        return true;
+    }
+
+    /**
+     * Removes the range of {@code currencyCode} and bumps its version. Called once new ticks of the currency
+     * are visible to readers, i.e. stored or appended to its cached series.
+     */
+    public synchronized void invalidate(String currencyCode) {
+        Entry previous = byCurrency.remove(currencyCode);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        versions.bump(currencyCode);
+    }
+
+    /**
+     * Returns the recorded normalized range of {@code currencyCode}, or {@code null} when it is not known.
+     */
+    public Long rangeOf(String currencyCode) {
+        Entry entry = byCurrency.get(currencyCode);
+        return entry == null ? null : entry.getNormalizedRange();
+    }
+
+    /**
+     * Returns at most {@code limit} of the given currencies with known ranges, highest range first.
+     */
+    public List<Entry> top(Set<String> currencyCodes, int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, currencyCodes.size()));
+        for (Entry entry : ranked) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (currencyCodes.contains(entry.getCurrencyCode())) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ranked currency and its normalized range, scaled by {@link FixedPointPrice#RANGE_SCALE}.
+     */
+    public static final class Entry {
+
+        private final String currencyCode;
+        private final long normalizedRange;
+
+        Entry(String currencyCode, long normalizedRange) {
+            this.currencyCode = currencyCode;
+            this.normalizedRange = normalizedRange;
+        }
+
+        public String getCurrencyCode() {
+            return currencyCode;
+        }
+
+        public long getNormalizedRange() {
+            return normalizedRange;
+        }
+    }
+}
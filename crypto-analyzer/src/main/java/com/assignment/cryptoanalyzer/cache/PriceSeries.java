@@ -0,0 +1,270 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Columnar, time-sorted price history of a single cryptocurrency.
+ *
+ * <p>Ticks are stored in two parallel primitive columns: epoch-millis timestamps and
+ * fixed-point prices (see {@link FixedPointPrice}). Each column is a list of fixed-size chunks of
+ * {@link #CHUNK_SIZE} values, so a tick costs 16 bytes of heap instead of a JPA entity with a boxed
+ * timestamp and a {@code BigDecimal} price, and growing the series never copies stored ticks.
+ *
+ * <p>Thread safety:
+ * <ul>
+ *     <li>Writers are serialized on the series monitor. In-order ticks are written into free slots
+ *     behind the published size, after which a new immutable {@code State} (chunks, size, range tree)
+ *     is published through a volatile field.</li>
+ *     <li>Readers never lock: {@link #view()}, {@link #size()} and {@link #rangeStats(long, long)} read the
+ *     published state once and work on it. Slots behind a published size are never written again, and
+ *     out-of-order inserts build new chunks, so a view never changes after it was taken.</li>
+ *     <li>All-time min/max/oldest/newest/count/sum aggregates are folded into a {@link StatsKernel}
+ *     on every append and published as an immutable {@link SeriesStats}, so {@link #stats()} never
+ *     scans the columns and does not block on writers.</li>
+ *     <li>Day buckets are maintained the same way in a {@link RollupIndex}; minute and hour buckets are built
+ *     from the range tree on request.</li>
+ *     <li>A {@link RangeMinMaxTree} built alongside the columns answers min/max/sum for arbitrary time
+ *     windows in logarithmic time via {@link #rangeStats(long, long)}.</li>
+ * </ul>
+ */
+public class PriceSeries {
+
+    static final int CHUNK_SIZE = Chunks.SIZE;
+
+    private final String currencyCode;
+    // Every series needs its own empty tree: appends fill the tree in place.
+    private volatile State state = new State(new long[0][], new long[0][], 0, new RangeMinMaxTree());
+
+    private final StatsKernel runningStats = new StatsKernel();
+    private volatile SeriesStats stats = SeriesStats.EMPTY;
+    private final RollupIndex rollups;
+
+    public PriceSeries(String currencyCode) {
+        this(currencyCode, ZoneId.systemDefault());
+    }
+
+    public PriceSeries(String currencyCode, ZoneId zone) {
+        this.currencyCode = currencyCode;
+        this.rollups = new RollupIndex(zone, this::rangeStats);
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public int size() {
+        return state.size;
+    }
+
+    public SeriesView view() {
+        State current = state;
+        return new SeriesView(current.timestamps, current.prices, 0, current.size);
+    }
+
+    /**
+     * Returns the ticks with {@code fromTimestamp <= timestamp <= toTimestamp} as a view
+     * located by binary search, see {@link SeriesView#slice(long, long)}.
+     */
+    public SeriesView slice(long fromTimestamp, long toTimestamp) {
+        return view().slice(fromTimestamp, toTimestamp);
+    }
+
+    /**
+     * Returns the {@link StatsKernel} statistics for {@code fromTimestamp <= timestamp <= toTimestamp}.
+     * The window is located by binary search, its edges are scanned and min, max and sum of everything
+     * in between come from the range tree, so the cost does not depend on the number of ticks inside
+     * the window.
+     */
+    public SeriesStats rangeStats(long fromTimestamp, long toTimestamp) {
+        State current = state;
+        SeriesView slice = new SeriesView(current.timestamps, current.prices, 0, current.size)
+                .slice(fromTimestamp, toTimestamp);
+        if (slice.isEmpty()) {
+            return SeriesStats.EMPTY;
+        }
+        StatsKernel kernel = new StatsKernel();
+        current.tree.collect(current.timestamps, current.prices, slice.startIndex(), slice.endIndex(), kernel);
+        return kernel.snapshot();
+    }
+
+    public SeriesStats stats() {
+        return stats;
+    }
+
+    public RollupIndex rollups() {
+        return rollups;
+    }
+
+    public synchronized void append(long timestamp, long price) {
+        State current = state;
+        int size = current.size;
+        if (size == 0 || timestamp > Chunks.get(current.timestamps, size - 1)) {
+            runningStats.accept(timestamp, price);
+            rollups.add(timestamp, price);
+            long[][] timestampChunks = ensureCapacity(current.timestamps, size + 1);
+            long[][] priceChunks = ensureCapacity(current.prices, size + 1);
+            timestampChunks[size >>> Chunks.SHIFT][size & Chunks.MASK] = timestamp;
+            priceChunks[size >>> Chunks.SHIFT][size & Chunks.MASK] = price;
+            state = new State(timestampChunks, priceChunks, size + 1, current.tree.append(priceChunks, size, size + 1));
+        } else if (timestamp != Chunks.get(current.timestamps, size - 1)) {
+            mergeBatch(current, new long[]{timestamp}, new long[]{price}, 1);
+        }
+        stats = runningStats.snapshot();
+    }
+
+    public void appendAll(List<CryptoCurrency> ticks) {
+        int count = ticks.size();
+        long[] batchTimestamps = new long[count];
+        long[] batchPrices = new long[count];
+        for (int i = 0; i < count; i++) {
+            CryptoCurrency tick = ticks.get(i);
+            batchTimestamps[i] = tick.getTimestamp();
+            batchPrices[i] = FixedPointPrice.toScaled(tick.getPrice());
+        }
+        appendBatch(batchTimestamps, batchPrices, count);
+    }
+
+    /**
+     * Adds {@code count} ticks from the given columns. Batches that are strictly increasing and start
+     * after the newest stored tick are copied to the tail; anything else is merged into fresh chunks
+     * so that the series stays sorted by timestamp.
+     *
+     * <p>A tick whose timestamp is already stored, or repeated within the batch, is a duplicate of an
+     * earlier one (e.g. from a re-uploaded file) and is ignored, matching the unique
+     * {@code (currency_code, timestamp)} key of the database.
+     */
+    public synchronized void appendBatch(long[] batchTimestamps, long[] batchPrices, int count) {
+        if (count == 0) {
+            return;
+        }
+        State current = state;
+        int size = current.size;
+        if (isStrictlyIncreasing(batchTimestamps, count) && (size == 0 || batchTimestamps[0] > Chunks.get(current.timestamps, size - 1))) {
+            accept(batchTimestamps, batchPrices, count);
+            long[][] timestampChunks = ensureCapacity(current.timestamps, size + count);
+            long[][] priceChunks = ensureCapacity(current.prices, size + count);
+            copyInto(batchTimestamps, timestampChunks, size, count);
+            copyInto(batchPrices, priceChunks, size, count);
+            state = new State(timestampChunks, priceChunks, size + count, current.tree.append(priceChunks, size, size + count));
+        } else {
+            mergeBatch(current, batchTimestamps, batchPrices, count);
+        }
+        stats = runningStats.snapshot();
+    }
+
+    /**
+     * Returns chunks able to hold {@code required} values. Missing chunks are added; when the array
+     * of chunk references is too short, only that array is copied, never the chunks themselves.
+     */
+    private static long[][] ensureCapacity(long[][] chunks, int required) {
+        int needed = Chunks.chunkCount(required);
+        if (needed <= chunks.length && (needed == 0 || chunks[needed - 1] != null)) {
+            return chunks;
+        }
+        long[][] result = needed <= chunks.length ? chunks : Arrays.copyOf(chunks, Math.max(needed, chunks.length * 2));
+        for (int i = 0; i < needed; i++) {
+            if (result[i] == null) {
+                result[i] = new long[Chunks.SIZE];
+            }
+        }
+        return result;
+    }
+
+    private static void copyInto(long[] source, long[][] chunks, int index, int count) {
+        int copied = 0;
+        while (copied < count) {
+            int target = index + copied;
+            int offset = target & Chunks.MASK;
+            int length = Math.min(count - copied, Chunks.SIZE - offset);
+            System.arraycopy(source, copied, chunks[target >>> Chunks.SHIFT], offset, length);
+            copied += length;
+        }
+    }
+
+    private void accept(long[] batchTimestamps, long[] batchPrices, int count) {
+        for (int i = 0; i < count; i++) {
+            runningStats.accept(batchTimestamps[i], batchPrices[i]);
+        }
+        rollups.add(batchTimestamps, batchPrices, count);
+    }
+
+    private void mergeBatch(State current, long[] batchTimestamps, long[] batchPrices, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> batchTimestamps[i]));
+
+        int size = current.size;
+        long[][] mergedTimestamps = ensureCapacity(new long[0][], size + count);
+        long[][] mergedPrices = ensureCapacity(new long[0][], size + count);
+        long[] acceptedTimestamps = new long[count];
+        long[] acceptedPrices = new long[count];
+        int accepted = 0;
+        int existing = 0;
+        int added = 0;
+        int target = 0;
+        while (existing < size || added < count) {
+            boolean takeExisting = added == count
+                    || (existing < size && Chunks.get(current.timestamps, existing) <= batchTimestamps[order[added]]);
+            long timestamp;
+            long price;
+            if (takeExisting) {
+                timestamp = Chunks.get(current.timestamps, existing);
+                price = Chunks.get(current.prices, existing);
+                existing++;
+            } else {
+                timestamp = batchTimestamps[order[added]];
+                price = batchPrices[order[added]];
+                added++;
+                if (target > 0 && timestamp == mergedTimestamps[(target - 1) >>> Chunks.SHIFT][(target - 1) & Chunks.MASK]) {
+                    continue;
+                }
+                acceptedTimestamps[accepted] = timestamp;
+                acceptedPrices[accepted] = price;
+                accepted++;
+            }
+            mergedTimestamps[target >>> Chunks.SHIFT][target & Chunks.MASK] = timestamp;
+            mergedPrices[target >>> Chunks.SHIFT][target & Chunks.MASK] = price;
+            target++;
+        }
+        if (accepted == 0) {
+            return;
+        }
+        accept(acceptedTimestamps, acceptedPrices, accepted);
+        state = new State(mergedTimestamps, mergedPrices, target, RangeMinMaxTree.build(mergedPrices, target));
+    }
+
+    private static boolean isStrictlyIncreasing(long[] values, int count) {
+        for (int i = 1; i < count; i++) {
+            if (values[i] <= values[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Published, immutable description of the series content: the first {@code size} slots of the
+     * chunks and the range tree built over them.
+     */
+    private static final class State {
+
+        private final long[][] timestamps;
+        private final long[][] prices;
+        private final int size;
+        private final RangeMinMaxTree tree;
+
+        State(long[][] timestamps, long[][] prices, int size, RangeMinMaxTree tree) {
+            this.timestamps = timestamps;
+            this.prices = prices;
+            this.size = size;
+            this.tree = tree;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.util.Arrays;
+
+/**
+ * Segment tree answering min/max price queries over arbitrary index ranges of a {@link PriceSeries}.
+ *
+ * <p>Leaves summarize blocks of {@link #BLOCK_SIZE} consecutive ticks instead of single ticks, which
+ * keeps the tree at a small fraction of the price column's memory. Next to the tree, the sum of all
+ * prices before each block is kept, so the sum of any run of whole blocks is one subtraction. A query
+ * scans at most two partial blocks at the edges with the {@link StatsKernel} and takes min, max and sum
+ * of the fully covered blocks in between from the tree, so it costs {@code O(log n + BLOCK_SIZE)}. Blocks
+ * never cross a chunk boundary, since {@link Chunks#SIZE} is a multiple of {@link #BLOCK_SIZE}.
+ *
+ * <p>The tree does not own the price column: callers pass the current chunks to every method.
+ * Appends are made by the single writer of the owning series, while readers may query concurrently:
+ * an append only widens the leaf of the block being filled and its ancestors and records the prefix sum
+ * of a block once its predecessor is complete, and a query reads tree nodes and prefix sums only for
+ * blocks that were complete when the reader's view was published. When the tree runs
+ * out of leaves, {@link #append} returns a new tree and leaves the old one untouched.
+ */
+final class RangeMinMaxTree {
+
+    static final int BLOCK_SIZE = 64;
+
+    private final int leaves;
+    private final long[] min;
+    private final long[] max;
+    private final long[] sumBeforeHigh;
+    private final long[] sumBeforeLow;
+
+    RangeMinMaxTree() {
+        this(1);
+    }
+
+    private RangeMinMaxTree(int leaves) {
+        this.leaves = leaves;
+        this.min = emptyNodes(Long.MAX_VALUE, leaves);
+        this.max = emptyNodes(Long.MIN_VALUE, leaves);
+        this.sumBeforeHigh = new long[leaves];
+        this.sumBeforeLow = new long[leaves];
+    }
+
+    /**
+     * Registers the prices stored at {@code [fromIndex, toIndex)}, all of which lie behind every
+     * previously registered index. Returns this tree, or a new, larger one when it is full.
+     */
+    RangeMinMaxTree append(long[][] prices, int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return this;
+        }
+        int lastBlock = (toIndex - 1) / BLOCK_SIZE;
+        if (lastBlock >= leaves) {
+            return build(prices, toIndex);
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            int node = leaves + i / BLOCK_SIZE;
+            long price = Chunks.get(prices, i);
+            while (node > 0 && (price < min[node] || price > max[node])) {
+                min[node] = Math.min(min[node], price);
+                max[node] = Math.max(max[node], price);
+                node >>= 1;
+            }
+        }
+        for (int block = Math.max(1, (fromIndex + BLOCK_SIZE - 1) / BLOCK_SIZE); block <= lastBlock; block++) {
+            recordSumBefore(prices, block);
+        }
+        return this;
+    }
+
+    /**
+     * Builds a tree for the first {@code size} prices.
+     */
+    static RangeMinMaxTree build(long[][] prices, int size) {
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int capacity = 1;
+        while (capacity < blocks) {
+            capacity <<= 1;
+        }
+        RangeMinMaxTree tree = new RangeMinMaxTree(capacity);
+        for (int i = 0; i < size; i++) {
+            int node = capacity + i / BLOCK_SIZE;
+            long price = Chunks.get(prices, i);
+            tree.min[node] = Math.min(tree.min[node], price);
+            tree.max[node] = Math.max(tree.max[node], price);
+        }
+        for (int node = capacity - 1; node > 0; node--) {
+            tree.min[node] = Math.min(tree.min[2 * node], tree.min[2 * node + 1]);
+            tree.max[node] = Math.max(tree.max[2 * node], tree.max[2 * node + 1]);
+        }
+        for (int block = 1; block < blocks; block++) {
+            tree.recordSumBefore(prices, block);
+        }
+        return tree;
+    }
+
+    /**
+     * Folds the ticks at {@code [fromIndex, toIndex)} into {@code kernel}; the range must not be empty.
+     * The partial blocks at both edges are scanned, the fully covered blocks in between contribute their
+     * min/max through the tree and their sum through the block prefix sums, all in a single traversal.
+     */
+    void collect(long[][] timestamps, long[][] prices, int fromIndex, int toIndex, StatsKernel kernel) {
+        int firstBlock = fromIndex / BLOCK_SIZE;
+        int lastBlock = (toIndex - 1) / BLOCK_SIZE;
+        if (lastBlock - firstBlock < 2) {
+            kernel.scan(timestamps, prices, fromIndex, toIndex);
+            return;
+        }
+        kernel.scan(timestamps, prices, fromIndex, (firstBlock + 1) * BLOCK_SIZE);
+        kernel.scan(timestamps, prices, lastBlock * BLOCK_SIZE, toIndex);
+        long resultMin = Long.MAX_VALUE;
+        long resultMax = Long.MIN_VALUE;
+        int left = leaves + firstBlock + 1;
+        int right = leaves + lastBlock;
+        while (left < right) {
+            if ((left & 1) == 1) {
+                resultMin = Math.min(resultMin, min[left]);
+                resultMax = Math.max(resultMax, max[left]);
+                left++;
+            }
+            if ((right & 1) == 1) {
+                right--;
+                resultMin = Math.min(resultMin, min[right]);
+                resultMax = Math.max(resultMax, max[right]);
+            }
+            left >>= 1;
+            right >>= 1;
+        }
+        long sumLow = sumBeforeLow[lastBlock] - sumBeforeLow[firstBlock + 1];
+        long sumHigh = sumBeforeHigh[lastBlock] - sumBeforeHigh[firstBlock + 1]
+                - (Long.compareUnsigned(sumBeforeLow[lastBlock], sumBeforeLow[firstBlock + 1]) < 0 ? 1 : 0);
+        kernel.combineInterior((long) (lastBlock - firstBlock - 1) * BLOCK_SIZE, resultMin, resultMax, sumHigh, sumLow);
+    }
+
+    /**
+     * Records the sum of all prices before {@code block}, whose predecessor must be complete.
+     */
+    private void recordSumBefore(long[][] prices, int block) {
+        long high = sumBeforeHigh[block - 1];
+        long low = sumBeforeLow[block - 1];
+        long[] chunk = prices[((block - 1) * BLOCK_SIZE) >>> Chunks.SHIFT];
+        int offset = ((block - 1) * BLOCK_SIZE) & Chunks.MASK;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            long price = chunk[i];
+            long next = low + price;
+            high += (price >> 63) + (Long.compareUnsigned(next, low) < 0 ? 1 : 0);
+            low = next;
+        }
+        sumBeforeHigh[block] = high;
+        sumBeforeLow[block] = low;
+    }
+
+    private static long[] emptyNodes(long identity, int leaves) {
+        long[] nodes = new long[2 * leaves];
+        Arrays.fill(nodes, identity);
+        return nodes;
+    }
+}
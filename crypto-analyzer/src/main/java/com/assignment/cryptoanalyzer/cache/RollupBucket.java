@@ -0,0 +1,65 @@
+package com.assignment.cryptoanalyzer.cache;
+
+/**
+ * Immutable pre-aggregated statistics of all ticks that fall into one time bucket.
+ *
+ * <p>Prices are fixed-point values (see {@link FixedPointPrice}), timestamps are epoch millis.
+ * {@link #getStart()} is the inclusive start of the bucket; the aggregates are the {@link StatsKernel}
+ * result of the bucket's ticks, see {@link #getStats()}.
+ */
+public final class RollupBucket {
+
+    private final long start;
+    private final SeriesStats stats;
+
+    RollupBucket(long start, SeriesStats stats) {
+        this.start = start;
+        this.stats = stats;
+    }
+
+    /**
+     * Combines two buckets with the same start into one.
+     */
+    RollupBucket merge(RollupBucket other) {
+        StatsKernel kernel = new StatsKernel();
+        kernel.combine(stats);
+        kernel.combine(other.stats);
+        return new RollupBucket(start, kernel.snapshot());
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public SeriesStats getStats() {
+        return stats;
+    }
+
+    public long getCount() {
+        return stats.getCount();
+    }
+
+    public long getMinPrice() {
+        return stats.getMinPrice();
+    }
+
+    public long getMaxPrice() {
+        return stats.getMaxPrice();
+    }
+
+    public long getFirstTimestamp() {
+        return stats.getOldestTimestamp();
+    }
+
+    public long getFirstPrice() {
+        return stats.getOldestPrice();
+    }
+
+    public long getLastTimestamp() {
+        return stats.getNewestTimestamp();
+    }
+
+    public long getLastPrice() {
+        return stats.getNewestPrice();
+    }
+}
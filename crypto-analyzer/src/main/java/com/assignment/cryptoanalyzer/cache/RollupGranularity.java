@@ -0,0 +1,10 @@
+package com.assignment.cryptoanalyzer.cache;
+
+/**
+ * Bucket sizes of {@link RollupIndex}.
+ */
+public enum RollupGranularity {
+    MINUTE,
+    HOUR,
+    DAY
+}
@@ -0,0 +1,158 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-symbol pre-aggregation of ticks into minute, hour and day buckets.
+ *
+ * <p>Each bucket holds min, max, first, last and count of the ticks inside it (see
+ * {@link RollupBucket}), so questions like "normalized range of a day" are answered with a
+ * single map lookup instead of a scan over the history.
+ *
+ * <p>Only day buckets are stored; there are few of them, so they cost a negligible amount of memory per
+ * tick. Minute and hour buckets would cost more than the ticks themselves for minute-spaced data, so they
+ * are built on request from the range tree of the owning {@link PriceSeries}, in logarithmic time per bucket.
+ *
+ * <p>Minute and hour buckets are aligned to UTC epoch boundaries. Day buckets start at local
+ * midnight in the configured {@link ZoneId}.
+ *
+ * <p>Thread safety: the {@code add} methods are called by the owning {@link PriceSeries} under
+ * its monitor. Buckets are immutable and kept in a concurrent map, so readers never block
+ * and always see complete buckets.
+ */
+public class RollupIndex {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final ZoneId zone;
+    private final WindowStats windowStats;
+    private final ConcurrentSkipListMap<Long, RollupBucket> days = new ConcurrentSkipListMap<>();
+
+    // Day boundaries of the last tick seen by the writer, to avoid time-zone math per tick.
+    private long writerDayStart = Long.MAX_VALUE;
+    private long writerNextDayStart = Long.MIN_VALUE;
+
+    RollupIndex(ZoneId zone, WindowStats windowStats) {
+        this.zone = zone;
+        this.windowStats = windowStats;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns the bucket that contains the given timestamp, or {@code null} if it holds no ticks.
+     */
+    public RollupBucket bucket(RollupGranularity granularity, long timestamp) {
+        long start = bucketStart(granularity, timestamp);
+        if (granularity == RollupGranularity.DAY) {
+            return days.get(start);
+        }
+        SeriesStats stats = windowStats.of(start, start + bucketMillis(granularity) - 1);
+        return stats.isEmpty() ? null : new RollupBucket(start, stats);
+    }
+
+    /**
+     * Returns the day bucket of the given local date, or {@code null} if there were no ticks that day.
+     */
+    public RollupBucket day(LocalDate date) {
+        return days.get(date.atStartOfDay(zone).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Returns a read-only view of the non-empty buckets that start within {@code [from, to)}. Minute and hour
+     * buckets are built on request; empty stretches are skipped, so the cost grows with the buckets returned.
+     */
+    public NavigableMap<Long, RollupBucket> buckets(RollupGranularity granularity, long from, long to) {
+        if (granularity == RollupGranularity.DAY) {
+            return Collections.unmodifiableNavigableMap(days.subMap(from, true, to, false));
+        }
+        long size = bucketMillis(granularity);
+        NavigableMap<Long, RollupBucket> result = new TreeMap<>();
+        long start = bucketStart(granularity, from);
+        if (start < from) {
+            start += size;
+        }
+        while (start < to) {
+            SeriesStats rest = windowStats.of(start, to - 1);
+            if (rest.isEmpty()) {
+                break;
+            }
+            start = bucketStart(granularity, rest.getOldestTimestamp());
+            SeriesStats stats = windowStats.of(start, start + size - 1);
+            result.put(start, new RollupBucket(start, stats));
+            start += size;
+        }
+        return Collections.unmodifiableNavigableMap(result);
+    }
+
+    public long bucketStart(RollupGranularity granularity, long timestamp) {
+        return switch (granularity) {
+            case MINUTE -> Math.floorDiv(timestamp, MINUTE_MILLIS) * MINUTE_MILLIS;
+            case HOUR -> Math.floorDiv(timestamp, HOUR_MILLIS) * HOUR_MILLIS;
+            case DAY -> Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate()
+                    .atStartOfDay(zone).toInstant().toEpochMilli();
+        };
+    }
+
+    void add(long timestamp, long price) {
+        long key = writerDayStart(timestamp);
+        days.merge(key, new RollupBucket(key, SeriesStats.ofTick(timestamp, price)), RollupBucket::merge);
+    }
+
+    void add(long[] timestamps, long[] prices, int count) {
+        if (count == 0) {
+            return;
+        }
+        long key = writerDayStart(timestamps[0]);
+        int runStart = 0;
+        for (int i = 1; i < count; i++) {
+            long nextKey = writerDayStart(timestamps[i]);
+            if (nextKey != key) {
+                flush(key, timestamps, prices, runStart, i);
+                key = nextKey;
+                runStart = i;
+            }
+        }
+        flush(key, timestamps, prices, runStart, count);
+    }
+
+    private static long bucketMillis(RollupGranularity granularity) {
+        return granularity == RollupGranularity.MINUTE ? MINUTE_MILLIS : HOUR_MILLIS;
+    }
+
+    private long writerDayStart(long timestamp) {
+        if (timestamp < writerDayStart || timestamp >= writerNextDayStart) {
+            ZonedDateTime start = Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate().atStartOfDay(zone);
+            writerDayStart = start.toInstant().toEpochMilli();
+            writerNextDayStart = start.plusDays(1).toInstant().toEpochMilli();
+        }
+        return writerDayStart;
+    }
+
+    private void flush(long key, long[] timestamps, long[] prices, int from, int to) {
+        StatsKernel kernel = new StatsKernel();
+        for (int i = from; i < to; i++) {
+            kernel.accept(timestamps[i], prices[i]);
+        }
+        days.merge(key, new RollupBucket(key, kernel.snapshot()), RollupBucket::merge);
+    }
+
+    /**
+     * Statistics of the ticks with {@code from <= timestamp <= to}, see {@link PriceSeries#rangeStats(long, long)}.
+     */
+    @FunctionalInterface
+    interface WindowStats {
+
+        SeriesStats of(long from, long to);
+    }
+}
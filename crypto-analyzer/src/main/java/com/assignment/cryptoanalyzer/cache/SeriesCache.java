@@ -0,0 +1,214 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bounded, lazily hydrated cache of {@link PriceSeries} by currency code.
+ *
+ * <p>A series is loaded on first access. Concurrent misses for the same currency share one
+ * in-flight load (single flight): the first caller runs the loader, the others wait for its result.
+ * A failed load is not cached, so the next access retries.
+ *
+ * <p>The cache is bounded by the number of currencies and by the total number of ticks held in
+ * memory. When either bound is exceeded after a load or {@link #put(PriceSeries)}, the least recently
+ * used loaded series are evicted; the series that was just added is never evicted by its own insertion.
+ * Currency counts are in the hundreds, so eviction simply scans the entries for the oldest access.
+ *
+ * <p>Hits, misses and evictions are counted and exposed through {@link #stats()}.
+ */
+public final class SeriesCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSymbols;
+    private final long maxTicks;
+    private final Function<String, PriceSeries> loader;
+
+    public SeriesCache(int maxSymbols, long maxTicks, Function<String, PriceSeries> loader) {
+        this.maxSymbols = Math.max(1, maxSymbols);
+        this.maxTicks = Math.max(1, maxTicks);
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the cached series of {@code currencyCode}, loading it if necessary.
+     */
+    public PriceSeries get(String currencyCode) {
+        Entry entry = entries.get(currencyCode);
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(currencyCode, created);
+            if (entry == null) {
+                misses.increment();
+                return load(currencyCode, created);
+            }
+        }
+        hits.increment();
+        entry.touch(clock.incrementAndGet());
+        return entry.join();
+    }
+
+    /**
+     * Returns whether the series of {@code currencyCode} is loaded, without loading it or counting an access.
+     */
+    public boolean isLoaded(String currencyCode) {
+        return getIfLoaded(currencyCode) != null;
+    }
+
+    /**
+     * Returns the series of {@code currencyCode} if it is loaded, otherwise {@code null}, without loading it
+     * or counting an access.
+     */
+    public PriceSeries getIfLoaded(String currencyCode) {
+        Entry entry = entries.get(currencyCode);
+        return entry == null ? null : entry.getNow();
+    }
+
+    /**
+     * Stores a series that is known to be complete, e.g. one built from the initial file import.
+     */
+    public void put(PriceSeries series) {
+        Entry entry = new Entry();
+        entry.complete(series, clock.incrementAndGet());
+        entries.put(series.getCurrencyCode(), entry);
+        evictIfNeeded(series.getCurrencyCode());
+    }
+
+    /**
+     * Applies {@code update} to the cached series of {@code currencyCode}, if there is one.
+     *
+     * <p>{@code writeStartedAt} is the {@link System#nanoTime()} at which the new ticks started to be
+     * written to the database. A series whose load finished before that moment cannot contain them and
+     * is updated in place. A series that is still loading, or finished loading afterwards, may or may not
+     * contain them, so it is dropped and reloaded on next access.
+     */
+    public void update(String currencyCode, long writeStartedAt, Consumer<PriceSeries> update) {
+        Entry entry = entries.get(currencyCode);
+        if (entry == null) {
+            return;
+        }
+        if (entry.isLoadedBefore(writeStartedAt)) {
+            update.accept(entry.join());
+        } else {
+            entries.remove(currencyCode, entry);
+        }
+    }
+
+    /**
+     * Returns the series that are currently loaded.
+     */
+    public List<PriceSeries> loadedSeries() {
+        List<PriceSeries> result = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            PriceSeries series = entry.getNow();
+            if (series != null) {
+                result.add(series);
+            }
+        }
+        return result;
+    }
+
+    public CacheStats stats() {
+        List<PriceSeries> loaded = loadedSeries();
+        long ticks = 0;
+        for (PriceSeries series : loaded) {
+            ticks += series.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), loaded.size(), ticks);
+    }
+
+    private PriceSeries load(String currencyCode, Entry entry) {
+        PriceSeries series;
+        try {
+            series = loader.apply(currencyCode);
+        } catch (RuntimeException e) {
+            entries.remove(currencyCode, entry);
+            entry.fail(e);
+            throw e;
+        }
+        entry.complete(series, clock.incrementAndGet());
+        evictIfNeeded(currencyCode);
+        return series;
+    }
+
+    private synchronized void evictIfNeeded(String retainedCode) {
+        while (true) {
+            int symbols = 0;
+            long ticks = 0;
+            String coldest = null;
+            Entry coldestEntry = null;
+            for (Map.Entry<String, Entry> item : entries.entrySet()) {
+                PriceSeries series = item.getValue().getNow();
+                if (series == null) {
+                    continue;
+                }
+                symbols++;
+                ticks += series.size();
+                if (!item.getKey().equals(retainedCode)
+                        && (coldestEntry == null || item.getValue().lastAccess < coldestEntry.lastAccess)) {
+                    coldest = item.getKey();
+                    coldestEntry = item.getValue();
+                }
+            }
+            if ((symbols <= maxSymbols && ticks <= maxTicks) || coldestEntry == null) {
+                return;
+            }
+            if (entries.remove(coldest, coldestEntry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final CompletableFuture<PriceSeries> future = new CompletableFuture<>();
+        private volatile long lastAccess;
+        private volatile long loadedAt = Long.MAX_VALUE;
+
+        void touch(long time) {
+            lastAccess = time;
+        }
+
+        void complete(PriceSeries series, long time) {
+            lastAccess = time;
+            loadedAt = System.nanoTime();
+            future.complete(series);
+        }
+
+        void fail(RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        boolean isLoadedBefore(long nanoTime) {
+            return future.isDone() && loadedAt - nanoTime < 0;
+        }
+
+        PriceSeries getNow() {
+            return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+        }
+
+        PriceSeries join() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
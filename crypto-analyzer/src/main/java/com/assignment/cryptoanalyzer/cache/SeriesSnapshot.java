@@ -0,0 +1,164 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary file holding the complete {@link PriceSeries} of one currency.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * int    MAGIC
+ * int    VERSION
+ * short  currency code length, followed by the ASCII bytes of the code
+ * int    tick count
+ * long   newest timestamp (Long.MIN_VALUE for an empty series)
+ * long[] fixed-point prices, count values
+ * varint timestamp deltas, count values; the first one is relative to 0
+ * int    MAGIC, marks a complete file
+ * </pre>
+ *
+ * <p>Timestamps are sorted, so every delta is non-negative and regular ticks take one or two bytes
+ * instead of eight. The file is read through a memory mapping; the header is parsed by
+ * {@link #open(Path)} and the columns are only decoded by {@link #toSeries()}, so callers can check
+ * the header for staleness first. Files are written to a temporary file and moved into place, so a
+ * reader never sees a partially written snapshot.
+ */
+public final class SeriesSnapshot {
+
+    static final int MAGIC = 0x43525053;
+    static final int VERSION = 1;
+
+    private final String currencyCode;
+    private final int count;
+    private final long newestTimestamp;
+    private final ByteBuffer body;
+
+    private SeriesSnapshot(String currencyCode, int count, long newestTimestamp, ByteBuffer body) {
+        this.currencyCode = currencyCode;
+        this.count = count;
+        this.newestTimestamp = newestTimestamp;
+        this.body = body;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getNewestTimestamp() {
+        return newestTimestamp;
+    }
+
+    /**
+     * Writes the current content of {@code series} to {@code file}, replacing an older snapshot.
+     */
+    public static void write(PriceSeries series, Path file) throws IOException {
+        SeriesView view = series.view();
+        int count = view.size();
+        byte[] code = series.getCurrencyCode().getBytes(StandardCharsets.US_ASCII);
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeShort(code.length);
+            out.write(code);
+            out.writeInt(count);
+            out.writeLong(count == 0 ? Long.MIN_VALUE : view.timestampAt(count - 1));
+            for (int i = 0; i < count; i++) {
+                out.writeLong(view.priceAt(i));
+            }
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                long timestamp = view.timestampAt(i);
+                writeVarLong(out, timestamp - previous);
+                previous = timestamp;
+            }
+            out.writeInt(MAGIC);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-maps {@code file} and parses its header.
+     *
+     * @throws IOException if the file cannot be read or is not a snapshot of the supported version
+     */
+    public static SeriesSnapshot open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a price snapshot: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + file);
+        }
+        byte[] code = new byte[buffer.getShort()];
+        buffer.get(code);
+        int count = buffer.getInt();
+        long newestTimestamp = buffer.getLong();
+        if (buffer.remaining() < 8L * count + Integer.BYTES || buffer.getInt(buffer.limit() - Integer.BYTES) != MAGIC) {
+            throw new IOException("Incomplete snapshot: " + file);
+        }
+        return new SeriesSnapshot(new String(code, StandardCharsets.US_ASCII), count, newestTimestamp, buffer.slice());
+    }
+
+    /**
+     * Decodes the columns into a new series.
+     */
+    public PriceSeries toSeries() {
+        ByteBuffer buffer = body.duplicate();
+        long[] prices = new long[count];
+        buffer.asLongBuffer().get(prices);
+        buffer.position(buffer.position() + Long.BYTES * count);
+
+        long[] timestamps = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readVarLong(buffer);
+            timestamps[i] = previous;
+        }
+        if (buffer.remaining() != Integer.BYTES) {
+            throw new IllegalStateException("Corrupted snapshot of " + currencyCode);
+        }
+
+        PriceSeries series = new PriceSeries(currencyCode);
+        series.appendBatch(timestamps, prices, count);
+        return series;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = buffer.get();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while (current < 0);
+        return value;
+    }
+}
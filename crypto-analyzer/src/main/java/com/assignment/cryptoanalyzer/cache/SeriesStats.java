@@ -0,0 +1,113 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Immutable result of the {@link StatsKernel} for a {@link PriceSeries}, a slice of it or a rollup bucket.
+ *
+ * <p>Prices are fixed-point values (see {@link FixedPointPrice}), timestamps are epoch millis.
+ * The sum of prices is a 128-bit value split into a high and a low {@code long}.
+ * When {@link #getCount()} is zero the remaining fields carry no meaning.
+ */
+public final class SeriesStats {
+
+    static final SeriesStats EMPTY = new SeriesStats(0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final long count;
+    private final long minPrice;
+    private final long maxPrice;
+    private final long oldestTimestamp;
+    private final long oldestPrice;
+    private final long newestTimestamp;
+    private final long newestPrice;
+    private final long priceSumHigh;
+    private final long priceSumLow;
+
+    SeriesStats(long count, long minPrice, long maxPrice,
+                long oldestTimestamp, long oldestPrice,
+                long newestTimestamp, long newestPrice,
+                long priceSumHigh, long priceSumLow) {
+        this.count = count;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.oldestTimestamp = oldestTimestamp;
+        this.oldestPrice = oldestPrice;
+        this.newestTimestamp = newestTimestamp;
+        this.newestPrice = newestPrice;
+        this.priceSumHigh = priceSumHigh;
+        this.priceSumLow = priceSumLow;
+    }
+
+    /**
+     * Returns the statistics of a single tick.
+     */
+    static SeriesStats ofTick(long timestamp, long price) {
+        return new SeriesStats(1, price, price, timestamp, price, timestamp, price, price >> 63, price);
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMinPrice() {
+        return minPrice;
+    }
+
+    public long getMaxPrice() {
+        return maxPrice;
+    }
+
+    public long getOldestTimestamp() {
+        return oldestTimestamp;
+    }
+
+    public long getOldestPrice() {
+        return oldestPrice;
+    }
+
+    public long getNewestTimestamp() {
+        return newestTimestamp;
+    }
+
+    public long getNewestPrice() {
+        return newestPrice;
+    }
+
+    long getPriceSumHigh() {
+        return priceSumHigh;
+    }
+
+    long getPriceSumLow() {
+        return priceSumLow;
+    }
+
+    /**
+     * Returns the normalized range {@code (max - min) / min}, see {@link FixedPointPrice#normalizedRange(long, long)}.
+     */
+    public long getNormalizedRange() {
+        return isEmpty() ? 0L : FixedPointPrice.normalizedRange(minPrice, maxPrice);
+    }
+
+    /**
+     * Returns the mean price of all ticks, rounded half up to a fixed-point price, or 0 when empty.
+     */
+    public long getAveragePrice() {
+        if (isEmpty()) {
+            return 0L;
+        }
+        if (priceSumHigh == 0 && priceSumLow >= 0) {
+            long quotient = priceSumLow / count;
+            long remainder = priceSumLow % count;
+            return remainder >= count - remainder ? quotient + 1 : quotient;
+        }
+        BigInteger sum = BigInteger.valueOf(priceSumHigh).shiftLeft(Long.SIZE)
+                .add(new BigInteger(Long.toUnsignedString(priceSumLow)));
+        return new BigDecimal(sum).divide(BigDecimal.valueOf(count), 0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,108 @@
+package com.assignment.cryptoanalyzer.cache;
+
+/**
+ * Immutable, read-only window over the columns of a {@link PriceSeries}.
+ *
+ * <p>A view shares the chunks of the series it was taken from and never copies them.
+ * Indexes passed to {@link #timestampAt(int)} and {@link #priceAt(int)} are relative
+ * to the start of the view.
+ *
+ * <p>The underlying series is sorted by timestamp, so time ranges are located with
+ * {@link #slice(long, long)} in {@code O(log n)} without copying any data.
+ */
+public final class SeriesView {
+
+    private final long[][] timestamps;
+    private final long[][] prices;
+    private final int from;
+    private final int to;
+
+    SeriesView(long[][] timestamps, long[][] prices, int from, int to) {
+        this.timestamps = timestamps;
+        this.prices = prices;
+        this.from = from;
+        this.to = to;
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    public long timestampAt(int index) {
+        return Chunks.get(timestamps, from + index);
+    }
+
+    public long priceAt(int index) {
+        return Chunks.get(prices, from + index);
+    }
+
+    int startIndex() {
+        return from;
+    }
+
+    int endIndex() {
+        return to;
+    }
+
+    /**
+     * Returns count, min, max, oldest and newest tick and the price sum of this view, computed by the
+     * {@link StatsKernel} in a single pass over the columns.
+     */
+    public SeriesStats stats() {
+        StatsKernel kernel = new StatsKernel();
+        kernel.scan(timestamps, prices, from, to);
+        return kernel.snapshot();
+    }
+
+    /**
+     * Returns a narrower view for the relative range {@code [fromIndex, toIndex)}.
+     */
+    public SeriesView subView(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex + ") for size " + size());
+        }
+        return new SeriesView(timestamps, prices, from + fromIndex, from + toIndex);
+    }
+
+    /**
+     * Returns the view of ticks with {@code fromTimestamp <= timestamp <= toTimestamp}.
+     * Both boundaries are found by binary search.
+     */
+    public SeriesView slice(long fromTimestamp, long toTimestamp) {
+        int start = lowerBound(fromTimestamp);
+        int end = Math.max(start, upperBound(toTimestamp));
+        return new SeriesView(timestamps, prices, start, end);
+    }
+
+    private int lowerBound(long timestamp) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Chunks.get(timestamps, mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long timestamp) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Chunks.get(timestamps, mid) <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,138 @@
+package com.assignment.cryptoanalyzer.cache;
+
+/**
+ * Single-pass statistics kernel shared by every statistic the cache serves.
+ *
+ * <p>One pass over a series slice yields count, min, max, oldest and newest tick and the sum of prices,
+ * which is the numerator of an average price and, once ticks carry volumes, of a VWAP. The sum is kept as
+ * a 128-bit two's complement value in two {@code long}s, so it cannot overflow however long the series
+ * gets. Inner loops only touch local primitives and chunk arrays and call no lambdas, so the JIT can keep
+ * every accumulator in a register.
+ *
+ * <p>The kernel backs {@link PriceSeries#stats()} (one {@link #accept(long, long)} per appended tick),
+ * {@link PriceSeries#rangeStats(long, long)} and {@link SeriesView#stats()} (one {@link #scan} over the
+ * columns) and the buckets of a {@link RollupIndex}. Not thread-safe: each instance has a single writer,
+ * and results are published via {@link #snapshot()}.
+ */
+final class StatsKernel {
+
+    private long count;
+    private long minPrice = Long.MAX_VALUE;
+    private long maxPrice = Long.MIN_VALUE;
+    private long oldestTimestamp = Long.MAX_VALUE;
+    private long oldestPrice;
+    private long newestTimestamp = Long.MIN_VALUE;
+    private long newestPrice;
+    private long sumHigh;
+    private long sumLow;
+
+    /**
+     * Folds in a single tick, which may arrive in or out of timestamp order.
+     */
+    void accept(long timestamp, long price) {
+        count++;
+        if (price < minPrice) {
+            minPrice = price;
+        }
+        if (price > maxPrice) {
+            maxPrice = price;
+        }
+        acceptEnds(timestamp, price, timestamp, price);
+        long low = sumLow + price;
+        sumHigh += (price >> 63) + (Long.compareUnsigned(low, sumLow) < 0 ? 1 : 0);
+        sumLow = low;
+    }
+
+    /**
+     * Folds in the ticks stored at {@code [fromIndex, toIndex)} of time-sorted chunked columns in one pass.
+     */
+    void scan(long[][] timestamps, long[][] prices, int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        acceptEnds(Chunks.get(timestamps, fromIndex), Chunks.get(prices, fromIndex),
+                Chunks.get(timestamps, toIndex - 1), Chunks.get(prices, toIndex - 1));
+        scanPrices(prices, fromIndex, toIndex);
+    }
+
+    /**
+     * Folds in min, max, count and sum of the prices at {@code [fromIndex, toIndex)}, leaving oldest and
+     * newest tick untouched.
+     */
+    private void scanPrices(long[][] prices, int fromIndex, int toIndex) {
+        long min = minPrice;
+        long max = maxPrice;
+        long high = sumHigh;
+        long low = sumLow;
+        int index = fromIndex;
+        while (index < toIndex) {
+            long[] chunk = prices[index >>> Chunks.SHIFT];
+            int offset = index & Chunks.MASK;
+            int end = Math.min(Chunks.SIZE, offset + (toIndex - index));
+            for (int i = offset; i < end; i++) {
+                long price = chunk[i];
+                min = Math.min(min, price);
+                max = Math.max(max, price);
+                long next = low + price;
+                high += (price >> 63) + (Long.compareUnsigned(next, low) < 0 ? 1 : 0);
+                low = next;
+            }
+            index += end - offset;
+        }
+        count += toIndex - fromIndex;
+        minPrice = min;
+        maxPrice = max;
+        sumHigh = high;
+        sumLow = low;
+    }
+
+    /**
+     * Folds in pre-aggregated ticks that lie strictly between two ranges already passed to {@link #scan},
+     * so they can never be the oldest or newest tick.
+     */
+    void combineInterior(long count, long minPrice, long maxPrice, long sumHigh, long sumLow) {
+        this.count += count;
+        this.minPrice = Math.min(this.minPrice, minPrice);
+        this.maxPrice = Math.max(this.maxPrice, maxPrice);
+        addToSum(sumHigh, sumLow);
+    }
+
+    /**
+     * Folds in an aggregate of ticks that may overlap this one in time.
+     */
+    void combine(SeriesStats stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        count += stats.getCount();
+        minPrice = Math.min(minPrice, stats.getMinPrice());
+        maxPrice = Math.max(maxPrice, stats.getMaxPrice());
+        acceptEnds(stats.getOldestTimestamp(), stats.getOldestPrice(), stats.getNewestTimestamp(), stats.getNewestPrice());
+        addToSum(stats.getPriceSumHigh(), stats.getPriceSumLow());
+    }
+
+    SeriesStats snapshot() {
+        if (count == 0) {
+            return SeriesStats.EMPTY;
+        }
+        return new SeriesStats(count, minPrice, maxPrice, oldestTimestamp, oldestPrice,
+                newestTimestamp, newestPrice, sumHigh, sumLow);
+    }
+
+    private void acceptEnds(long firstTimestamp, long firstPrice, long lastTimestamp, long lastPrice) {
+        if (firstTimestamp < oldestTimestamp) {
+            oldestTimestamp = firstTimestamp;
+            oldestPrice = firstPrice;
+        }
+        if (lastTimestamp >= newestTimestamp) {
+            newestTimestamp = lastTimestamp;
+            newestPrice = lastPrice;
+        }
+    }
+
+    private void addToSum(long high, long low) {
+        long next = sumLow + low;
+        sumHigh += high + (Long.compareUnsigned(next, sumLow) < 0 ? 1 : 0);
+        sumLow = next;
+    }
+}
@@ -0,0 +1,36 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the price data, bumped whenever new ticks of a currency have been stored and cached.
+ *
+ * <p>Every currency has its own counter, so statistics of one currency stay valid while others receive
+ * ticks; a global counter, bumped together with any currency counter, versions data that depends on all
+ * currencies, such as the normalized-range ranking. Counters start at 0 and only grow during the lifetime
+ * of the process, so a response computed for a version can be reused until the version changes.
+ *
+ * <p>A counter must be bumped after the new ticks are visible to readers: a reader that sees the old
+ * version may then have computed newer data, which is harmless, but never labels old data with the new one.
+ */
+public final class SymbolVersions {
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    public void bump(String currencyCode) {
+        versions.computeIfAbsent(currencyCode, code -> new AtomicLong()).incrementAndGet();
+        globalVersion.incrementAndGet();
+    }
+
+    public long version(String currencyCode) {
+        AtomicLong version = versions.get(currencyCode);
+        return version == null ? 0 : version.get();
+    }
+
+    public long globalVersion() {
+        return globalVersion.get();
+    }
+}
@@ -0,0 +1,64 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Serialized responses keyed by request and tagged with the data version they were rendered from (see
+ * {@link SymbolVersions}), so a response is serialized once per version instead of once per request.
+ *
+ * <p>Every entry carries a strong ETag made of a per-process epoch and the version. The epoch keeps ETags
+ * of an earlier process, whose counters also started at 0, from matching. Because a version always
+ * renders to the same bytes, equal ETags imply byte-identical bodies.
+ *
+ * <p>Only the newest rendering of every key is kept; callers bound the number of keys. Concurrent misses
+ * for one key may render it more than once, which is cheaper than holding a lock while rendering.
+ */
+public final class VersionedResponseCache {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36)
+            + Long.toString(ThreadLocalRandom.current().nextInt() & Integer.MAX_VALUE, 36);
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the response of {@code key} rendered for {@code version}, rendering it if necessary.
+     */
+    public Entry get(String key, long version, Supplier<byte[]> render) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version) {
+            return entry;
+        }
+        Entry rendered = new Entry(version, "\"" + epoch + "-" + Long.toString(version, 36) + "\"", render.get());
+        entries.merge(key, rendered, (previous, next) -> previous.version > next.version ? previous : next);
+        return rendered;
+    }
+
+    /**
+     * Serialized response body and the strong ETag identifying it.
+     */
+    public static final class Entry {
+
+        private final long version;
+        private final String eTag;
+        private final byte[] body;
+
+        Entry(long version, String eTag, byte[] body) {
+            this.version = version;
+            this.eTag = eTag;
+            this.body = body;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Returns the shared body bytes; callers must not modify them.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.assignment.cryptoanalyzer.config.auto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogProp {
+
+    /**
+     * Whether requests are written to the access log.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fraction of successful, fast requests that are logged, from 0 to 1. Failed and slow requests are always logged.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Requests taking at least this long are always logged, in milliseconds.
+     */
+    private long slowThresholdMillis = 1_000;
+
+    /**
+     * Path patterns, e.g. {@code /crypto/stats/{symbol}}, whose response bodies are logged as well.
+     */
+    private List<String> bodyRoutes = new ArrayList<>();
+
+    /**
+     * Maximum number of body bytes written to the log; longer bodies are truncated.
+     */
+    private int maxBodyBytes = 2_048;
+
+    /**
+     * Path patterns that are never logged.
+     */
+    private List<String> excludedRoutes = new ArrayList<>(List.of("/actuator/**"));
+
+}
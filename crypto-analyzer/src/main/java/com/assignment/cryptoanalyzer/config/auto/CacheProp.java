@@ -0,0 +1,49 @@
+package com.assignment.cryptoanalyzer.config.auto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "cache")
+public class CacheProp {
+
+    /**
+     * Maximum number of currencies whose series are kept in memory.
+     */
+    private int maxSymbols = 100;
+
+    /**
+     * Maximum number of ticks kept in memory over all currencies. A cached tick takes about 18 bytes: 16 for
+     * its timestamp and price, up to 2 for the range tree, and a negligible share of the day rollups. Loading
+     * a series and merging out-of-order ticks briefly need a second copy of it. The default takes about 360 MB
+     * of heap, and up to twice that while series are rebuilt.
+     */
+    private long maxTicks = 20_000_000L;
+
+    /**
+     * Whether statistics of currencies that are not cached are aggregated by the database while the
+     * currency is loaded into the cache in the background.
+     */
+    private boolean coldQueriesInDatabase = true;
+
+    /**
+     * Whether the currencies stored in the database are loaded into the cache in the background at startup,
+     * at most {@link #maxSymbols} of them.
+     */
+    private boolean warmUp = true;
+
+    /**
+     * Number of threads loading currencies into the cache in the background.
+     */
+    private int hydrationThreads = 2;
+
+    /**
+     * Number of threads computing the normalized ranges of currencies that are not ranked yet, in parallel.
+     */
+    private int rankingThreads = 4;
+
+}
@@ -0,0 +1,112 @@
+package com.assignment.cryptoanalyzer.config.auto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "generator")
+public class GeneratorProp {
+
+    /**
+     * Whether synthetic market data is generated when the application starts.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Where generated ticks go: into the ingest path, into a CSV file or into a binary tick file.
+     */
+    private Output output = Output.INGEST;
+
+    /**
+     * File receiving the ticks when the output is {@code CSV} or {@code BINARY}.
+     */
+    private String file = "generated/ticks.csv";
+
+    /**
+     * Currency codes to generate; when empty, {@link #symbolCount} codes are made up, or, without a count, the
+     * configured {@code currencies.currencyCode} are used.
+     */
+    private List<String> symbols = new ArrayList<>();
+
+    /**
+     * Number of made-up currency codes {@code S0001, S0002, ...} when no {@link #symbols} are configured; unset
+     * by default, so that the generated currencies are the ones the stats endpoints serve.
+     */
+    private Integer symbolCount;
+
+    /**
+     * Average number of ticks per second and currency.
+     */
+    private double ticksPerSecond = 1.0;
+
+    /**
+     * Whether the gaps between ticks are exponentially distributed; otherwise ticks are evenly spaced.
+     */
+    private boolean poissonArrivals = true;
+
+    /**
+     * Timestamp of the first generated tick.
+     */
+    private Instant start = Instant.parse("2022-01-01T00:00:00Z");
+
+    /**
+     * Time span covered by the generated ticks.
+     */
+    private Duration duration = Duration.ofDays(1);
+
+    /**
+     * Seed of the random generator; the same seed and settings always yield the same ticks.
+     */
+    private long seed = 42;
+
+    /**
+     * Number of ticks handed to the output at once.
+     */
+    private int batchSize = 50_000;
+
+    /**
+     * Lowest initial price of a currency; initial prices are log-uniformly distributed.
+     */
+    private double minInitialPrice = 0.01;
+
+    /**
+     * Highest initial price of a currency.
+     */
+    private double maxInitialPrice = 50_000;
+
+    /**
+     * Standard deviation of the log return of one tick in the calm regime.
+     */
+    private double calmVolatility = 0.0002;
+
+    /**
+     * Standard deviation of the log return of one tick in the turbulent regime.
+     */
+    private double turbulentVolatility = 0.002;
+
+    /**
+     * Probability per tick that a calm currency turns turbulent.
+     */
+    private double turbulenceProbability = 0.0001;
+
+    /**
+     * Probability per tick that a turbulent currency calms down.
+     */
+    private double calmDownProbability = 0.001;
+
+    public enum Output {
+        INGEST,
+        CSV,
+        BINARY
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.assignment.cryptoanalyzer.config.auto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ingest")
+public class IngestProp {
+
+    /**
+     * Number of ticks after which a micro-batch is flushed.
+     */
+    private int batchSize = 5_000;
+
+    /**
+     * Maximum age of a non-empty micro-batch before it is flushed, in milliseconds.
+     */
+    private long flushIntervalMillis = 200;
+
+    /**
+     * Maximum number of accepted ticks waiting to be written; further ticks are refused.
+     */
+    private int maxPendingTicks = 200_000;
+
+    /**
+     * How long a streaming request waits for room in the pending ticks before it is refused, in milliseconds.
+     */
+    private long streamWaitMillis = 30_000;
+
+    /**
+     * Pause before a micro-batch that failed to be written is retried, in milliseconds; grows with every attempt.
+     */
+    private long retryBackoffMillis = 500;
+
+}
@@ -0,0 +1,54 @@
+package com.assignment.cryptoanalyzer.config.auto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "persistence")
+public class PersistenceProp {
+
+    /**
+     * Number of rows sent to the database in one JDBC batch.
+     */
+    private int batchSize = 5_000;
+
+    /**
+     * Number of rows read per page when a currency is loaded from the database.
+     */
+    private int readPageSize = 50_000;
+
+    /**
+     * Whether new ticks are put into the cache first and written to the database by a background writer.
+     */
+    private boolean writeBehind = false;
+
+    /**
+     * Maximum number of ticks waiting for the background writer.
+     */
+    private int queueCapacity = 1_000_000;
+
+    /**
+     * How long a caller waits for room in a full write-behind queue, in milliseconds.
+     */
+    private long queueWaitMillis = 30_000;
+
+    /**
+     * Number of retries of a failed write before the batch is spilled to disk.
+     */
+    private int maxRetries = 5;
+
+    /**
+     * Delay before the first retry; every further retry waits one more step, in milliseconds.
+     */
+    private long retryBackoffMillis = 500;
+
+    /**
+     * File keeping batches that could not be written, replayed when the database is available again.
+     */
+    private String spillFile = "spill/pending-ticks.bin";
+
+}
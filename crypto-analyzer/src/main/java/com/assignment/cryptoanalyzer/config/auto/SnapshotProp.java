@@ -0,0 +1,24 @@
+package com.assignment.cryptoanalyzer.config.auto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "snapshot")
+public class SnapshotProp {
+
+    /**
+     * Whether binary series snapshots are read at startup and written after loading and on shutdown.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory holding one snapshot file per currency.
+     */
+    private String directory = "snapshots";
+
+}
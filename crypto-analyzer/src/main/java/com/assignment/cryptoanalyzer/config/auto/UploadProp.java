@@ -0,0 +1,19 @@
+package com.assignment.cryptoanalyzer.config.auto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "upload")
+public class UploadProp {
+
+    /**
+     * Number of parsed rows written to the database and the cache at once.
+     */
+    private int batchSize = 10_000;
+
+}
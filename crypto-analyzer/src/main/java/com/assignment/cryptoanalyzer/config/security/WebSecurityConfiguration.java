@@ -18,7 +18,10 @@ public class WebSecurityConfiguration {
                         .requestMatchers("/").permitAll() // Разрешаем доступ к корневому пути
                         .requestMatchers(HttpMethod.GET, "/crypto/stats/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/data/upload").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/data/ticks", "/data/ticks/stream").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/info",
+                                "/actuator/prometheus", "/actuator/metrics/**").permitAll()
                         .anyRequest().authenticated() // Все остальные запросы требуют аутентификации
                 );
 
@@ -1,20 +1,38 @@
 package com.assignment.cryptoanalyzer.controller;
 
+import com.assignment.cryptoanalyzer.cache.VersionedResponseCache;
+import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
 import com.assignment.cryptoanalyzer.dto.CryptoDTO;
+import com.assignment.cryptoanalyzer.metrics.CryptoMetrics;
 import com.assignment.cryptoanalyzer.service.impl.CryptoStatsServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 /**
  * Controller providing endpoints for retrieving cryptocurrency statistics.
+ * The latency of every endpoint is recorded in {@link CryptoMetrics}.
+ *
+ * <p>The all-time statistics of a symbol and the normalized-range ranking are serialized once per data version
+ * and kept in a {@link VersionedResponseCache}. Their responses carry a strong ETag and {@code no-cache}, so
+ * clients revalidate every poll and receive an empty {@code 304 Not Modified} while no ticks have arrived.
  */
 @RestController
 @RequestMapping("/crypto")
@@ -23,43 +41,66 @@ public class CryptoStatsController {
 
     @Autowired
     private final CryptoStatsServiceImpl cryptoStatsServiceImpl;
+    private final CryptoMetrics cryptoMetrics;
+    private final ApplicationProp applicationProp;
+    private final ObjectMapper objectMapper;
+    private final VersionedResponseCache responseCache = new VersionedResponseCache();
 
     /**
      * Retrieves all cryptocurrencies sorted in descending order by their normalized range.
      *
-     * @return A list of CryptoDTO objects, each containing the currency code and its statistics.
+     * @param limit The maximum number of currencies to return; all of them when omitted.
+     * @return A ResponseEntity containing the serialized list of CryptoDTO objects and its ETag,
+     * or an empty {@code 304 Not Modified} when the ETag matches {@code If-None-Match}.
      */
     @Operation(
             summary = "Get all currencies sorted by normalized range",
-            description = "Retrieves a list of cryptocurrencies with their associated statistics, sorted in descending order by the normalized range (max - min)."
+            description = "Retrieves a list of cryptocurrencies with their associated statistics, sorted in descending order by the normalized range (max - min). Send the returned ETag in If-None-Match to receive 304 while no new ticks have arrived."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of cryptocurrencies")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of cryptocurrencies",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = CryptoDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Ranking has not changed since the given ETag")
     })
     @GetMapping("/stats/normalized")
-    public List<CryptoDTO> getAllByNormalizedRange() {
-        return cryptoStatsServiceImpl.getCurrencyStatsOrderNormalizedRange();
+    public ResponseEntity<byte[]> getAllByNormalizedRange(
+            @Parameter(description = "Maximum number of currencies to return", example = "10")
+            @RequestParam(required = false) Integer limit) {
+        return cryptoMetrics.timeEndpoint(CryptoMetrics.ENDPOINT_NORMALIZED, () -> {
+            int currencyCount = applicationProp.getCurrencyCode().size();
+            // Limits covering every currency return the full ranking, so they share its entry and the key space stays bounded.
+            String key = "normalized:" + (limit == null || limit >= currencyCount ? "all" : limit);
+            return cached(key, cryptoStatsServiceImpl.getRankingVersion(), () -> limit == null
+                    ? cryptoStatsServiceImpl.getCurrencyStatsOrderNormalizedRange()
+                    : cryptoStatsServiceImpl.getCurrencyStatsOrderNormalizedRange(limit));
+        });
     }
 
     /**
      * Retrieves detailed statistical data (oldest, newest, min, max prices) for a specific cryptocurrency symbol.
      *
      * @param symbol The symbol of the cryptocurrency (e.g., BTC, ETH).
-     * @return A ResponseEntity containing the cryptocurrency statistics.
+     * @return A ResponseEntity containing the serialized cryptocurrency statistics and their ETag,
+     * or an empty {@code 304 Not Modified} when the ETag matches {@code If-None-Match}.
      */
     @Operation(
             summary = "Get statistics for a specific cryptocurrency",
-            description = "Retrieves detailed statistical data such as the oldest and newest records, as well as the minimum and maximum prices for the specified cryptocurrency symbol."
+            description = "Retrieves detailed statistical data such as the oldest and newest records, as well as the minimum and maximum prices for the specified cryptocurrency symbol. Send the returned ETag in If-None-Match to receive 304 while no new ticks of the symbol have arrived."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved cryptocurrency statistics"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved cryptocurrency statistics",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CryptoDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Statistics have not changed since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Cryptocurrency not found")
     })
     @GetMapping("/stats/{symbol}")
-    public ResponseEntity<Object> getStatsForSymbol(
+    public ResponseEntity<byte[]> getStatsForSymbol(
             @Parameter(description = "The symbol of the cryptocurrency", example = "BTC")
             @PathVariable String symbol) {
-        return ResponseEntity.ok(cryptoStatsServiceImpl.getStatsForCurrency(symbol));
+        return cryptoMetrics.timeEndpoint(CryptoMetrics.ENDPOINT_SYMBOL, () -> cached("symbol:" + symbol,
+                cryptoStatsServiceImpl.getStatsVersion(symbol), () -> cryptoStatsServiceImpl.getStatsForCurrency(symbol)));
     }
 
     /**
@@ -83,6 +124,57 @@ public class CryptoStatsController {
             @Parameter(description = "Day of the date", example = "15") @RequestParam int day,
             @Parameter(description = "Month of the date", example = "5") @RequestParam int month,
             @Parameter(description = "Year of the date", example = "2023") @RequestParam int year) {
-        return ResponseEntity.ok(cryptoStatsServiceImpl.getStatsByDate(day, month, year));
+        return ResponseEntity.ok(cryptoMetrics.timeEndpoint(CryptoMetrics.ENDPOINT_HIGHEST,
+                () -> cryptoStatsServiceImpl.getStatsByDate(day, month, year)));
+    }
+
+    /**
+     * Retrieves min, max and normalized range of a cryptocurrency within an arbitrary time window.
+     *
+     * @param symbol The symbol of the cryptocurrency (e.g., BTC, ETH).
+     * @param from   The inclusive start of the window.
+     * @param to     The inclusive end of the window.
+     * @return A ResponseEntity containing the cryptocurrency statistics for the window.
+     */
+    @Operation(
+            summary = "Get statistics for a specific cryptocurrency within a time window",
+            description = "Retrieves the minimum and maximum prices, the normalized range and the oldest/newest record times of the specified cryptocurrency between the given date-times."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved cryptocurrency statistics"),
+            @ApiResponse(responseCode = "400", description = "Unsupported cryptocurrency or invalid window"),
+            @ApiResponse(responseCode = "404", description = "Data not found for the given window")
+    })
+    @GetMapping("/stats/{symbol}/range")
+    public ResponseEntity<CryptoDTO> getStatsForSymbolInRange(
+            @Parameter(description = "The symbol of the cryptocurrency", example = "BTC") @PathVariable String symbol,
+            @Parameter(description = "Start of the window (ISO date-time)", example = "2022-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the window (ISO date-time)", example = "2022-01-15T23:59:59")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(cryptoMetrics.timeEndpoint(CryptoMetrics.ENDPOINT_RANGE,
+                () -> cryptoStatsServiceImpl.getStatsForRange(symbol, from, to)));
+    }
+
+    /**
+     * Returns the response of {@code key} for {@code version}, serializing the result of {@code stats} only
+     * when no response of that version is cached. Spring answers {@code 304 Not Modified} instead when the
+     * request's {@code If-None-Match} contains the ETag.
+     */
+    private ResponseEntity<byte[]> cached(String key, long version, Supplier<Object> stats) {
+        VersionedResponseCache.Entry entry = responseCache.get(key, version, () -> serialize(stats.get()));
+        return ResponseEntity.ok()
+                .eTag(entry.getETag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.getBody());
+    }
+
+    private byte[] serialize(Object stats) {
+        try {
+            return objectMapper.writeValueAsBytes(stats);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -1,19 +1,44 @@
 package com.assignment.cryptoanalyzer.controller;
 
+import com.assignment.cryptoanalyzer.dto.UploadResultDTO;
+import com.assignment.cryptoanalyzer.service.impl.DataUploadServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * Controller providing endpoints for uploading cryptocurrency price data.
+ */
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/data")
 public class FileProcessingController {
 
-    // NOT WORKING!!! This one could be implemented as feature to upload files and save data to DB as advice for scalabale application logic
-    @PostMapping("/upload")
-    public ResponseEntity<String> uploadCryptoData (@RequestParam("file") MultipartFile file) {
-        // sample and all logic to implement uploading goes here
-        return ResponseEntity.ok("All data from file was successfully upload in DB and updated");
+    private final DataUploadServiceImpl dataUploadService;
+
+    /**
+     * Uploads a CSV file in the {@code timestamp,symbol,price} format and stores its rows in the database and the cache.
+     *
+     * @param file The CSV file to import.
+     * @return A ResponseEntity containing the number of accepted and rejected rows and the throughput.
+     */
+    @Operation(
+            summary = "Upload cryptocurrency prices",
+            description = "Streams the uploaded CSV file in bounded batches into the database and the cache. Rows with unsupported currency codes or malformed values are rejected."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File was processed"),
+            @ApiResponse(responseCode = "400", description = "Uploaded file is empty")
+    })
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UploadResultDTO> uploadCryptoData(
+            @Parameter(description = "CSV file with timestamp,symbol,price rows") @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(dataUploadService.upload(file));
     }
 }
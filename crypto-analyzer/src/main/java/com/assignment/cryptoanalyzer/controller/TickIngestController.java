@@ -0,0 +1,65 @@
+package com.assignment.cryptoanalyzer.controller;
+
+import com.assignment.cryptoanalyzer.dto.IngestResultDTO;
+import com.assignment.cryptoanalyzer.dto.TickDTO;
+import com.assignment.cryptoanalyzer.service.impl.TickIngestServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Controller providing endpoints for real-time ingestion of price ticks.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/data")
+public class TickIngestController {
+
+    private final TickIngestServiceImpl tickIngestService;
+
+    /**
+     * Queues a batch of ticks for writing to the database and the cache.
+     *
+     * @param ticks The ticks to ingest.
+     * @return A ResponseEntity containing the number of accepted and rejected ticks.
+     */
+    @Operation(
+            summary = "Ingest price ticks",
+            description = "Queues a JSON array of ticks. Ticks are coalesced into micro-batches and written to the database and the cache shortly after the response."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Ticks were queued"),
+            @ApiResponse(responseCode = "400", description = "Request contains no ticks"),
+            @ApiResponse(responseCode = "503", description = "Writer is behind, retry later")
+    })
+    @PostMapping(value = "/ticks", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IngestResultDTO> ingestTicks(@RequestBody List<TickDTO> ticks) {
+        return ResponseEntity.accepted().body(tickIngestService.ingest(ticks));
+    }
+
+    /**
+     * Queues a newline-delimited JSON stream of ticks, one tick object per line.
+     *
+     * @param body The request body stream.
+     * @return A ResponseEntity containing the number of accepted and rejected ticks.
+     */
+    @Operation(
+            summary = "Ingest a stream of price ticks",
+            description = "Reads newline-delimited JSON ticks and queues them in micro-batches. The stream is slowed down while the writer is behind and refused if it does not catch up."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Stream was queued"),
+            @ApiResponse(responseCode = "503", description = "Writer is behind, retry later")
+    })
+    @PostMapping(value = "/ticks/stream", consumes = "application/x-ndjson")
+    public ResponseEntity<IngestResultDTO> ingestTickStream(InputStream body) {
+        return ResponseEntity.accepted().body(tickIngestService.ingestStream(body));
+    }
+}
@@ -1,10 +1,12 @@
 package com.assignment.cryptoanalyzer.converter;
 
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
 import com.assignment.cryptoanalyzer.dto.CryptoDTO;
 import com.assignment.cryptoanalyzer.dto.StatsDTO;
 import com.assignment.cryptoanalyzer.model.CryptoModel;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,9 +27,10 @@ public class CryptoConverter {
 //        }
 
         StatsDTO statsDTO = StatsDTO.builder()
-                .minPrice(cryptoModel.getMinPrice())
-                .maxPrice(cryptoModel.getMaxPrice())
-                .normalizedRange(cryptoModel.getNormalizedRange())
+                .minPrice(toPrice(cryptoModel.getMinPrice()))
+                .maxPrice(toPrice(cryptoModel.getMaxPrice()))
+                .averagePrice(toPrice(cryptoModel.getAveragePrice()))
+                .normalizedRange(toRange(cryptoModel.getNormalizedRange()))
                 .oldestDateTime(cryptoModel.getOldestDateTime())
                 .newestDateTime(cryptoModel.getNewestDateTime())
                 .build();
@@ -38,6 +41,14 @@ public class CryptoConverter {
                 .build();
     }
 
+    private BigDecimal toPrice(Long scaledPrice) {
+        return scaledPrice == null ? null : FixedPointPrice.toDecimal(scaledPrice);
+    }
+
+    private BigDecimal toRange(Long normalizedRange) {
+        return normalizedRange == null ? null : FixedPointPrice.rangeToDecimal(normalizedRange);
+    }
+
     private List<CryptoDTO> convertToStatsDTOList(List<CryptoModel> cryptoModels) {
         if (cryptoModels == null) {
             throw new IllegalArgumentException("List of CryptoModel cannot be null");
@@ -0,0 +1,39 @@
+package com.assignment.cryptoanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object describing the outcome of a tick ingest request.
+ */
+@Getter
+@Setter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IngestResultDTO {
+
+    /**
+     * The number of ticks queued for writing to the database and the cache.
+     */
+    @Schema(description = "The number of ticks queued for writing to the database and the cache", example = "500")
+    @JsonProperty("accepted_ticks")
+    private long acceptedTicks;
+
+    /**
+     * The number of ticks skipped because they were malformed or had an unsupported currency code.
+     */
+    @Schema(description = "The number of malformed ticks or ticks with an unsupported currency code", example = "0")
+    @JsonProperty("rejected_ticks")
+    private long rejectedTicks;
+
+    /**
+     * The number of accepted ticks, over all clients, that are not written yet.
+     */
+    @Schema(description = "The number of accepted ticks, over all clients, that are not written yet", example = "1200")
+    @JsonProperty("pending_ticks")
+    private long pendingTicks;
+}
@@ -32,6 +32,13 @@ public class StatsDTO {
     @JsonProperty("max_price")
     private BigDecimal maxPrice;
 
+    /**
+     * The mean price of all records in the dataset.
+     */
+    @Schema(description = "The mean price of all records in the dataset", example = "0.6789")
+    @JsonProperty("average_price")
+    private BigDecimal averagePrice;
+
     /**
      * The normalized range, calculated as the difference between the maximum and minimum prices,
      * often normalized relative to some factor.
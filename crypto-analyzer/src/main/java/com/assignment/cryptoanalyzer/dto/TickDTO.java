@@ -0,0 +1,43 @@
+package com.assignment.cryptoanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a single price tick sent to the ingest endpoints.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TickDTO {
+
+    /**
+     * The time of the price in epoch milliseconds.
+     */
+    @Schema(description = "The time of the price in epoch milliseconds", example = "1641009600000")
+    @JsonProperty("timestamp")
+    private long timestamp;
+
+    /**
+     * The currency code (e.g., BTC, ETH) of the price.
+     */
+    @Schema(description = "The currency code (e.g., BTC, ETH) of the price", example = "BTC")
+    @JsonProperty("symbol")
+    private String symbol;
+
+    /**
+     * The price of the cryptocurrency.
+     */
+    @Schema(description = "The price of the cryptocurrency", example = "46813.21")
+    @JsonProperty("price")
+    private BigDecimal price;
+}
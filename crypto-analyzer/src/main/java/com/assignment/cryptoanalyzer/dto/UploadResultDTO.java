@@ -0,0 +1,60 @@
+package com.assignment.cryptoanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object describing the outcome of a price file upload.
+ */
+@Getter
+@Setter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UploadResultDTO {
+
+    /**
+     * The original name of the uploaded file.
+     */
+    @Schema(description = "The original name of the uploaded file", example = "BTC_values.csv")
+    @JsonProperty("file_name")
+    private String fileName;
+
+    /**
+     * The number of rows stored in the database and the cache.
+     */
+    @Schema(description = "The number of rows stored in the database and the cache", example = "100")
+    @JsonProperty("accepted_rows")
+    private long acceptedRows;
+
+    /**
+     * The number of rows skipped because they were malformed or had an unsupported currency code.
+     */
+    @Schema(description = "The number of malformed rows or rows with an unsupported currency code", example = "0")
+    @JsonProperty("rejected_rows")
+    private long rejectedRows;
+
+    /**
+     * The number of batches the file was processed in.
+     */
+    @Schema(description = "The number of batches the file was processed in", example = "1")
+    @JsonProperty("batches")
+    private long batches;
+
+    /**
+     * The total processing time in milliseconds.
+     */
+    @Schema(description = "The total processing time in milliseconds", example = "120")
+    @JsonProperty("duration_ms")
+    private long durationMillis;
+
+    /**
+     * The throughput of the upload in accepted rows per second.
+     */
+    @Schema(description = "The throughput of the upload in accepted rows per second", example = "833")
+    @JsonProperty("rows_per_second")
+    private long rowsPerSecond;
+}
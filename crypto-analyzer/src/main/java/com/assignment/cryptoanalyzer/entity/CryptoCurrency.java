@@ -9,20 +9,21 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "crypto_currency")
+@Table(name = "crypto_currency",
+        uniqueConstraints = @UniqueConstraint(name = "uq_currency_timestamp", columnNames = {"currency_code", "timestamp"}))
 public class CryptoCurrency {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column (name = "id")
     private Long id;
 
-    @Column (name = "timestamp")
+    @Column (name = "timestamp", nullable = false)
     private Long timestamp;
 
-    @Column (name = "currency_code")
+    @Column (name = "currency_code", nullable = false, length = 10)
     private String currencyCode;
 
-    @Column (name = "price")
+    @Column (name = "price", nullable = false, precision = 18, scale = 8)
     private BigDecimal price;
 
 }
@@ -0,0 +1,11 @@
+package com.assignment.cryptoanalyzer.exceptions;
+
+/**
+ * Thrown when accepted ticks are not written fast enough and new ticks cannot be queued.
+ */
+public class IngestBackpressureException extends RuntimeException {
+
+    public IngestBackpressureException(String message) {
+        super(message);
+    }
+}
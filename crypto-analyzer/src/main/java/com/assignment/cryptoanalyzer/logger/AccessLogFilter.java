@@ -0,0 +1,151 @@
+package com.assignment.cryptoanalyzer.logger;
+
+import com.assignment.cryptoanalyzer.config.auto.AccessLogProp;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Structured, sampled access log, replacing the former response body logging.
+ *
+ * <p>Every request produces at most one JSON line on the {@value #LOGGER_NAME} logger with method, route
+ * (the matched handler pattern, e.g. {@code /crypto/stats/{symbol}}), path, status, latency and response
+ * size. The body is not serialized a second time: its bytes are counted while they are streamed to the
+ * client, and only for the routes listed in {@link AccessLogProp#getBodyRoutes()} the first
+ * {@link AccessLogProp#getMaxBodyBytes()} bytes are copied into the entry.
+ *
+ * <p>Successful requests are sampled with {@link AccessLogProp#getSampleRate()}; responses with status 400
+ * or above and requests slower than {@link AccessLogProp#getSlowThresholdMillis()} are always logged. The
+ * logger is backed by an asynchronous appender (see {@code logback-spring.xml}), so the request thread only
+ * formats the line and hands it to a queue.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER_NAME = "access";
+
+    private static final Logger accessLogger = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final AccessLogProp accessLogProp;
+    private final Consumer<String> sink;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public AccessLogFilter(AccessLogProp accessLogProp) {
+        this(accessLogProp, accessLogger::info);
+    }
+
+    AccessLogFilter(AccessLogProp accessLogProp, Consumer<String> sink) {
+        this.accessLogProp = accessLogProp;
+        this.sink = sink;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !accessLogProp.isEnabled() || matches(accessLogProp.getExcludedRoutes(), request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean logBody = matches(accessLogProp.getBodyRoutes(), request.getRequestURI());
+        CountingResponseWrapper wrapper = new CountingResponseWrapper(response, logBody ? accessLogProp.getMaxBodyBytes() : 0);
+        long startedAt = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, wrapper);
+            status = wrapper.getStatus();
+        } finally {
+            long bytes = wrapper.getBytes();
+            long latencyMicros = (System.nanoTime() - startedAt) / 1_000;
+            if (shouldLog(status, latencyMicros)) {
+                sink.accept(entry(request, wrapper, status, latencyMicros, bytes));
+            }
+        }
+    }
+
+    private boolean shouldLog(int status, long latencyMicros) {
+        if (status >= 400 || latencyMicros >= accessLogProp.getSlowThresholdMillis() * 1_000) {
+            return true;
+        }
+        double sampleRate = accessLogProp.getSampleRate();
+        return sampleRate >= 1.0 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private String entry(HttpServletRequest request, CountingResponseWrapper response, int status, long latencyMicros,
+                         long bytes) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        StringBuilder entry = new StringBuilder(256);
+        entry.append("{\"method\":");
+        appendString(entry, request.getMethod());
+        entry.append(",\"route\":");
+        appendString(entry, route == null ? null : route.toString());
+        entry.append(",\"path\":");
+        appendString(entry, request.getRequestURI());
+        entry.append(",\"status\":").append(status)
+                .append(",\"latencyMicros\":").append(latencyMicros)
+                .append(",\"bytes\":").append(bytes);
+        byte[] body = response.getCapturedBody();
+        if (body != null) {
+            entry.append(",\"body\":");
+            appendString(entry, new String(body, StandardCharsets.UTF_8));
+            entry.append(",\"bodyTruncated\":").append(response.isTruncated());
+        }
+        return entry.append('}').toString();
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends {@code value} as a JSON string, or {@code null}.
+     */
+    private static void appendString(StringBuilder entry, String value) {
+        if (value == null) {
+            entry.append("null");
+            return;
+        }
+        entry.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> entry.append("\\\"");
+                case '\\' -> entry.append("\\\\");
+                case '\n' -> entry.append("\\n");
+                case '\r' -> entry.append("\\r");
+                case '\t' -> entry.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        entry.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        entry.append(c);
+                    }
+                }
+            }
+        }
+        entry.append('"');
+    }
+}
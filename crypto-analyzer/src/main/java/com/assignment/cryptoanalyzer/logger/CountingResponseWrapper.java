@@ -0,0 +1,136 @@
+package com.assignment.cryptoanalyzer.logger;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Response wrapper that counts the body bytes passing through and, when asked to, keeps a copy of the first
+ * {@code captureLimit} of them. Unlike a content-caching wrapper, the body is streamed to the client as it is
+ * written, so memory stays bounded by the capture limit whatever the response size.
+ */
+final class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int captureLimit;
+    private final ByteArrayOutputStream captured;
+
+    private CountingOutputStream outputStream;
+    private PrintWriter writer;
+    private long bytes;
+
+    CountingResponseWrapper(HttpServletResponse response, int captureLimit) {
+        super(response);
+        this.captureLimit = Math.max(0, captureLimit);
+        this.captured = captureLimit > 0 ? new ByteArrayOutputStream(Math.min(captureLimit, 1_024)) : null;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            outputStream = new CountingOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Returns the number of body bytes written so far.
+     */
+    long getBytes() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the captured beginning of the body, or {@code null} when nothing is captured.
+     */
+    byte[] getCapturedBody() {
+        return captured == null ? null : captured.toByteArray();
+    }
+
+    boolean isTruncated() {
+        return captured != null && bytes > captureLimit;
+    }
+
+    private void capture(byte[] buffer, int offset, int length) {
+        if (captured != null && captured.size() < captureLimit) {
+            captured.write(buffer, offset, Math.min(length, captureLimit - captured.size()));
+        }
+    }
+
+    private final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (captured != null && captured.size() < captureLimit) {
+                captured.write(b);
+            }
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            delegate.write(buffer, offset, length);
+            capture(buffer, offset, length);
+            bytes += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
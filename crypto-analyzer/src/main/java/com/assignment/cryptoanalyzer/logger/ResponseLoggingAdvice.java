@@ -1,37 +0,0 @@
-package com.assignment.cryptoanalyzer.logger;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.core.MethodParameter;
-import org.springframework.http.MediaType;
-import org.springframework.http.server.ServerHttpRequest;
-import org.springframework.http.server.ServerHttpResponse;
-import org.springframework.web.bind.annotation.ControllerAdvice;
-import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-@ControllerAdvice
-public class ResponseLoggingAdvice implements ResponseBodyAdvice<Object> {
-
-    private static final Logger logger = LoggerFactory.getLogger(ResponseLoggingAdvice.class);
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    @Override
-    public boolean supports(MethodParameter returnType, Class converterType) {
-        return true; // Применяется ко всем контроллерам
-    }
-
-    @Override
-    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
-                                  Class selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
-        try {
-            if (body != null) {
-                // Логируем JSON-ответ
-                logger.info("Response Body: {}", objectMapper.writeValueAsString(body));
-            }
-        } catch (Exception e) {
-            logger.error("Error while logging response body", e);
-        }
-        return body; // Возвращаем тело без изменений
-    }
-}
@@ -0,0 +1,81 @@
+package com.assignment.cryptoanalyzer.metrics;
+
+import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.service.impl.CryptoServiceImpl;
+import com.assignment.cryptoanalyzer.service.impl.TickIngestServiceImpl;
+import com.assignment.cryptoanalyzer.util.TickMicroBatcher;
+import com.assignment.cryptoanalyzer.util.WriteBehindQueue;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauges and function counters sampled from the cache, the write-behind queue and the ingest batcher
+ * whenever metrics are scraped, so the hot paths pay nothing for them.
+ *
+ * <p>Meters:
+ * <ul>
+ *     <li>{@code crypto.cache.symbols}, {@code crypto.cache.ticks} - currencies and ticks held in the cache.</li>
+ *     <li>{@code crypto.cache.series.ticks} (tag {@code symbol}) - cached ticks of every configured currency,
+ *     0 while it is not cached.</li>
+ *     <li>{@code crypto.cache.hits}, {@code crypto.cache.misses}, {@code crypto.cache.evictions} - cache counters.</li>
+ *     <li>{@code crypto.writebehind.*} - queued, spilled, written and retried ticks and the lag of the
+ *     write-behind queue, present only with {@code persistence.writeBehind} enabled.</li>
+ *     <li>{@code crypto.ingest.*} - ticks waiting in the ingest batcher and flushed, retried and dropped micro-batches.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMeterBinder implements MeterBinder {
+
+    private final CryptoServiceImpl cryptoService;
+    private final TickIngestServiceImpl tickIngestService;
+    private final ApplicationProp applicationProp;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("crypto.cache.symbols", cryptoService, service -> service.getCacheStats().getSymbols())
+                .description("Currencies held in the cache")
+                .register(registry);
+        Gauge.builder("crypto.cache.ticks", cryptoService, service -> service.getCacheStats().getTicks())
+                .description("Ticks held in the cache")
+                .baseUnit("ticks")
+                .register(registry);
+        for (String currencyCode : applicationProp.getCurrencyCode()) {
+            Gauge.builder("crypto.cache.series.ticks", cryptoService, service -> service.getCachedTicks(currencyCode))
+                    .description("Cached ticks of one currency")
+                    .tag("symbol", currencyCode)
+                    .baseUnit("ticks")
+                    .register(registry);
+        }
+        counter(registry, "crypto.cache.hits", service -> service.getCacheStats().getHits());
+        counter(registry, "crypto.cache.misses", service -> service.getCacheStats().getMisses());
+        counter(registry, "crypto.cache.evictions", service -> service.getCacheStats().getEvictions());
+
+        WriteBehindQueue queue = cryptoService.getWriteBehindQueue();
+        if (queue != null) {
+            Gauge.builder("crypto.writebehind.queued", queue, WriteBehindQueue::getQueuedTicks).baseUnit("ticks").register(registry);
+            Gauge.builder("crypto.writebehind.lag", queue, WriteBehindQueue::getLagMillis).baseUnit("milliseconds").register(registry);
+            Gauge.builder("crypto.writebehind.spilled", queue, WriteBehindQueue::getSpilledTicks).baseUnit("ticks").register(registry);
+            FunctionCounter.builder("crypto.writebehind.written", queue, WriteBehindQueue::getWrittenTicks).baseUnit("ticks").register(registry);
+            FunctionCounter.builder("crypto.writebehind.retries", queue, WriteBehindQueue::getRetries).register(registry);
+        }
+
+        TickMicroBatcher batcher = tickIngestService.getBatcher();
+        Gauge.builder("crypto.ingest.pending", batcher, TickMicroBatcher::pendingTicks).baseUnit("ticks").register(registry);
+        FunctionCounter.builder("crypto.ingest.batches", batcher, TickMicroBatcher::getFlushedBatches)
+                .tag("result", "flushed").register(registry);
+        FunctionCounter.builder("crypto.ingest.batches", batcher, TickMicroBatcher::getFailedBatches)
+                .tag("result", "failed").register(registry);
+        FunctionCounter.builder("crypto.ingest.retries", batcher, TickMicroBatcher::getRetries).register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, ToDoubleFunction<CryptoServiceImpl> count) {
+        FunctionCounter.builder(name, cryptoService, count).register(registry);
+    }
+}
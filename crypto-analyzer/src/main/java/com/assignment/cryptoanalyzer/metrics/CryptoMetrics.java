@@ -0,0 +1,113 @@
+package com.assignment.cryptoanalyzer.metrics;
+
+import com.assignment.cryptoanalyzer.model.CsvReadResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer timers, summaries and counters of the hot paths, exported through the actuator
+ * {@code /actuator/prometheus} endpoint.
+ *
+ * <p>Meters:
+ * <ul>
+ *     <li>{@code crypto.stats.requests} (timer, tag {@code endpoint}) - latency of every stats endpoint.</li>
+ *     <li>{@code crypto.cache.lookups} (timer, tag {@code result=hit|miss}) - latency of
+ *     {@code CryptoServiceImpl.getCryptoData}; a miss includes loading the series.</li>
+ *     <li>{@code crypto.db.batch.writes} (timer) and {@code crypto.db.batch.rows} (summary) - latency and size of
+ *     every JDBC batch insert.</li>
+ *     <li>{@code crypto.csv.parse} (timer, tag {@code source=file|upload}) and {@code crypto.csv.rows} (counter,
+ *     tags {@code source} and {@code result=accepted|rejected}) - CSV parse time and parsed rows, whose ratio
+ *     is the parse throughput.</li>
+ * </ul>
+ *
+ * <p>Timers publish percentile histograms, so p99 and other quantiles can be aggregated across instances in
+ * Prometheus. Meters are registered once; recording only reads a field and updates lock-free counters.
+ */
+@Component
+public class CryptoMetrics {
+
+    public static final String ENDPOINT_NORMALIZED = "normalized";
+    public static final String ENDPOINT_SYMBOL = "symbol";
+    public static final String ENDPOINT_HIGHEST = "highest";
+    public static final String ENDPOINT_RANGE = "range";
+    public static final String SOURCE_FILE = "file";
+    public static final String SOURCE_UPLOAD = "upload";
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(10_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(60);
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> endpointTimers;
+    private final Timer cacheHits;
+    private final Timer cacheMisses;
+    private final Timer batchWrites;
+    private final DistributionSummary batchRows;
+
+    public CryptoMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.endpointTimers = Map.of(
+                ENDPOINT_NORMALIZED, endpointTimer(ENDPOINT_NORMALIZED),
+                ENDPOINT_SYMBOL, endpointTimer(ENDPOINT_SYMBOL),
+                ENDPOINT_HIGHEST, endpointTimer(ENDPOINT_HIGHEST),
+                ENDPOINT_RANGE, endpointTimer(ENDPOINT_RANGE));
+        this.cacheHits = histogram(Timer.builder("crypto.cache.lookups").tag("result", "hit")
+                .description("Latency of series lookups"));
+        this.cacheMisses = histogram(Timer.builder("crypto.cache.lookups").tag("result", "miss")
+                .description("Latency of series lookups"));
+        this.batchWrites = histogram(Timer.builder("crypto.db.batch.writes")
+                .description("Latency of JDBC batch inserts"));
+        this.batchRows = DistributionSummary.builder("crypto.db.batch.rows")
+                .description("Rows per JDBC batch insert")
+                .baseUnit("rows")
+                .register(registry);
+    }
+
+    /**
+     * Runs a stats endpoint and records its latency, also when it fails.
+     */
+    public <T> T timeEndpoint(String endpoint, Supplier<T> call) {
+        return endpointTimers.get(endpoint).record(call);
+    }
+
+    /**
+     * Runs a series lookup and records its latency as a hit or a miss.
+     */
+    public <T> T timeCacheLookup(boolean hit, Supplier<T> lookup) {
+        return (hit ? cacheHits : cacheMisses).record(lookup);
+    }
+
+    public void recordBatchWrite(int rows, long elapsedNanos) {
+        batchWrites.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        batchRows.record(rows);
+    }
+
+    /**
+     * Records one parsed CSV file or stream; {@code parseNanos} excludes the time spent by batch consumers.
+     */
+    public void recordCsvParse(String source, CsvReadResult result, long parseNanos) {
+        histogram(Timer.builder("crypto.csv.parse").tag("source", source)
+                .description("Time spent parsing CSV files and streams"))
+                .record(parseNanos, TimeUnit.NANOSECONDS);
+        registry.counter("crypto.csv.rows", "source", source, "result", "accepted").increment(result.getAcceptedRows());
+        registry.counter("crypto.csv.rows", "source", source, "result", "rejected").increment(result.getRejectedRows());
+    }
+
+    private Timer endpointTimer(String endpoint) {
+        return histogram(Timer.builder("crypto.stats.requests").tag("endpoint", endpoint)
+                .description("Latency of the stats endpoints"));
+    }
+
+    private Timer histogram(Timer.Builder builder) {
+        return builder.publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry);
+    }
+}
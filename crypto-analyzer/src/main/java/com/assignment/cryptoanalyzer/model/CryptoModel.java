@@ -3,7 +3,6 @@ package com.assignment.cryptoanalyzer.model;
 import lombok.*;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -21,11 +20,14 @@ public class CryptoModel {
 
     private String currencyCode;
     private LocalDateTime date;
-    private BigDecimal minPrice;
-    private BigDecimal maxPrice;
-    private BigDecimal oldestPrice;
-    private BigDecimal newestPrice;
-    private BigDecimal normalizedRange;
+    // Prices are fixed-point values (see FixedPointPrice); they become decimals in CryptoConverter.
+    private Long minPrice;
+    private Long maxPrice;
+    private Long oldestPrice;
+    private Long newestPrice;
+    private Long averagePrice;
+    // Scaled by FixedPointPrice.RANGE_SCALE.
+    private Long normalizedRange;
     private String oldestDateTime;
     private String newestDateTime;
 
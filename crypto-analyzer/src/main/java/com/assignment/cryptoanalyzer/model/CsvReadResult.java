@@ -0,0 +1,17 @@
+package com.assignment.cryptoanalyzer.model;
+
+import lombok.*;
+
+/**
+ * Counters collected while a CSV stream is parsed in batches.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@Builder
+public class CsvReadResult {
+
+    private long acceptedRows;
+    private long rejectedRows;
+    private long batches;
+}
@@ -0,0 +1,37 @@
+package com.assignment.cryptoanalyzer.model;
+
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Per-currency aggregate computed by the database, one row of a {@code GROUP BY currency_code} query.
+ * Prices are converted to fixed-point values (see {@link FixedPointPrice}) when the row is read.
+ */
+@Getter
+@ToString
+public class CurrencyAggregate {
+
+    private final String currencyCode;
+    private final long minPrice;
+    private final long maxPrice;
+    private final long oldestTimestamp;
+    private final long newestTimestamp;
+    private final long count;
+    private final long averagePrice;
+
+    public CurrencyAggregate(String currencyCode, BigDecimal minPrice, BigDecimal maxPrice,
+                             Long oldestTimestamp, Long newestTimestamp, Long count, BigDecimal priceSum) {
+        this.currencyCode = currencyCode;
+        this.minPrice = FixedPointPrice.toScaled(minPrice);
+        this.maxPrice = FixedPointPrice.toScaled(maxPrice);
+        this.oldestTimestamp = oldestTimestamp;
+        this.newestTimestamp = newestTimestamp;
+        this.count = count;
+        this.averagePrice = FixedPointPrice.toScaled(
+                priceSum.divide(BigDecimal.valueOf(count), FixedPointPrice.SCALE, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,140 @@
+package com.assignment.cryptoanalyzer.model;
+
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar batch of price ticks travelling from parsers and ingest endpoints to the database and the cache.
+ *
+ * <p>Ticks are kept in parallel arrays: currency code, epoch-millis timestamp and fixed-point price
+ * (see {@link FixedPointPrice}). Currency codes are shared references, so a batch allocates nothing
+ * per tick. The arrays returned by the column getters are the live backing arrays and are only valid
+ * up to {@link #size()}.
+ */
+public final class TickBatch {
+
+    private final String[] currencyCodes;
+    private final long[] timestamps;
+    private final long[] prices;
+    private int size;
+
+    public TickBatch(int capacity) {
+        this.currencyCodes = new String[capacity];
+        this.timestamps = new long[capacity];
+        this.prices = new long[capacity];
+    }
+
+    public static TickBatch of(List<CryptoCurrency> ticks) {
+        TickBatch batch = new TickBatch(ticks.size());
+        for (CryptoCurrency tick : ticks) {
+            batch.add(tick.getCurrencyCode(), tick.getTimestamp(), FixedPointPrice.toScaled(tick.getPrice()));
+        }
+        return batch;
+    }
+
+    public void add(String currencyCode, long timestamp, long price) {
+        currencyCodes[size] = currencyCode;
+        timestamps[size] = timestamp;
+        prices[size] = price;
+        size++;
+    }
+
+    /**
+     * Empties the batch so its arrays can be refilled.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == timestamps.length;
+    }
+
+    public String currencyCodeAt(int index) {
+        return currencyCodes[index];
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public long[] getPrices() {
+        return prices;
+    }
+
+    /**
+     * Groups the ticks by currency code, keeping their relative order. A batch that holds a single
+     * currency, which is the usual case for price files, is returned as is.
+     */
+    public Map<String, TickBatch> splitByCurrency() {
+        Map<String, TickBatch> result = new LinkedHashMap<>();
+        if (size == 0) {
+            return result;
+        }
+        String first = currencyCodes[0];
+        int firstOther = 1;
+        while (firstOther < size && first.equals(currencyCodes[firstOther])) {
+            firstOther++;
+        }
+        if (firstOther == size) {
+            result.put(first, this);
+            return result;
+        }
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            counts.merge(currencyCodes[i], 1, Integer::sum);
+        }
+        counts.forEach((code, count) -> result.put(code, new TickBatch(count)));
+        for (int i = 0; i < size; i++) {
+            result.get(currencyCodes[i]).add(currencyCodes[i], timestamps[i], prices[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new batch holding only the ticks of {@code currencyCode}.
+     */
+    public TickBatch filter(String currencyCode) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (currencyCode.equals(currencyCodes[i])) {
+                count++;
+            }
+        }
+        TickBatch result = new TickBatch(count);
+        for (int i = 0; i < size; i++) {
+            if (currencyCode.equals(currencyCodes[i])) {
+                result.add(currencyCodes[i], timestamps[i], prices[i]);
+            }
+        }
+        return result;
+    }
+
+    public static TickBatch concat(List<TickBatch> batches) {
+        int count = 0;
+        for (TickBatch batch : batches) {
+            count += batch.size;
+        }
+        TickBatch result = new TickBatch(count);
+        for (TickBatch batch : batches) {
+            System.arraycopy(batch.currencyCodes, 0, result.currencyCodes, result.size, batch.size);
+            System.arraycopy(batch.timestamps, 0, result.timestamps, result.size, batch.size);
+            System.arraycopy(batch.prices, 0, result.prices, result.size, batch.size);
+            result.size += batch.size;
+        }
+        return result;
+    }
+}
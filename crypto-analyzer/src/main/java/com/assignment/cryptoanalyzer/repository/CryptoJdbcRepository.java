@@ -0,0 +1,107 @@
+package com.assignment.cryptoanalyzer.repository;
+
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.config.auto.PersistenceProp;
+import com.assignment.cryptoanalyzer.metrics.CryptoMetrics;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Bulk writer and reader for price ticks.
+ *
+ * <p>{@code CryptoCurrency} ids are generated by the database ({@code IDENTITY}), which makes Hibernate
+ * insert entities one statement at a time. This repository bypasses the persistence context and sends
+ * plain JDBC batches of {@link PersistenceProp#getBatchSize()} rows straight from the columns of a
+ * {@link TickBatch}; with {@code rewriteBatchedStatements=true} the MySQL driver turns every batch into
+ * a few multi-row {@code INSERT} statements.
+ *
+ * <p>Rows are inserted with {@code ON DUPLICATE KEY UPDATE id = id}, so ticks that are already stored (same
+ * currency and timestamp, see the {@code uq_currency_timestamp} key) are skipped instead of failing the whole
+ * batch. Unlike {@code INSERT IGNORE}, any other error, such as a price out of the column's range, still fails.
+ * The latency and size of every JDBC batch are recorded in {@link CryptoMetrics}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CryptoJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO crypto_currency (timestamp, currency_code, price) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+    private static final String PAGE_SQL =
+            "SELECT timestamp, price FROM crypto_currency WHERE currency_code = ? AND timestamp > ? ORDER BY timestamp LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PersistenceProp persistenceProp;
+    private final CryptoMetrics cryptoMetrics;
+
+    /**
+     * Inserts all ticks of {@code batch} in one transaction.
+     */
+    @Transactional
+    public void saveBatch(TickBatch batch) {
+        int batchSize = Math.max(1, persistenceProp.getBatchSize());
+        long[] timestamps = batch.getTimestamps();
+        long[] prices = batch.getPrices();
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            int offset = from;
+            int count = Math.min(batchSize, batch.size() - from);
+            long startedAt = System.nanoTime();
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, timestamps[offset + i]);
+                    ps.setString(2, batch.currencyCodeAt(offset + i));
+                    ps.setBigDecimal(3, BigDecimal.valueOf(prices[offset + i], FixedPointPrice.SCALE));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+            cryptoMetrics.recordBatchWrite(count, System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Reads all ticks of {@code currencyCode} in timestamp order and hands them to {@code pageConsumer}
+     * page by page, without creating entities.
+     *
+     * <p>Pages of {@link PersistenceProp#getReadPageSize()} rows are fetched with keyset pagination on the
+     * {@code (currency_code, timestamp)} key: every query continues after the last timestamp of the previous
+     * page, so each page is an index range scan and no query skips over rows already read. The same
+     * {@link TickBatch} is refilled for every page, so the consumer must copy what it keeps.
+     *
+     * @return the number of ticks read
+     */
+    public long readByCurrencyCode(String currencyCode, Consumer<TickBatch> pageConsumer) {
+        int pageSize = Math.max(1, persistenceProp.getReadPageSize());
+        TickBatch page = new TickBatch(pageSize);
+        long after = Long.MIN_VALUE;
+        long total = 0;
+        while (true) {
+            page.clear();
+            jdbcTemplate.query(PAGE_SQL, (RowCallbackHandler) rs ->
+                            page.add(currencyCode, rs.getLong(1), FixedPointPrice.toScaled(rs.getBigDecimal(2))),
+                    currencyCode, after, pageSize);
+            if (page.isEmpty()) {
+                return total;
+            }
+            pageConsumer.accept(page);
+            total += page.size();
+            if (page.size() < pageSize) {
+                return total;
+            }
+            after = page.getTimestamps()[page.size() - 1];
+        }
+    }
+}
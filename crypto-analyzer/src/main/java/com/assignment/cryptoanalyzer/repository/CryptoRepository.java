@@ -1,28 +1,49 @@
 package com.assignment.cryptoanalyzer.repository;
 
 import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
-import com.assignment.cryptoanalyzer.model.CryptoModel;
+import com.assignment.cryptoanalyzer.model.CurrencyAggregate;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CryptoRepository extends JpaRepository<CryptoCurrency, Long> {
+
+    String AGGREGATE = "SELECT new com.assignment.cryptoanalyzer.model.CurrencyAggregate(c.currencyCode, "
+            + "MIN(c.price), MAX(c.price), MIN(c.timestamp), MAX(c.timestamp), COUNT(c), SUM(c.price)) FROM CryptoCurrency c ";
+
     @Query("SELECT c FROM CryptoCurrency c WHERE c.currencyCode = :currencyCode")
     List<CryptoCurrency> findByCurrencyCode(@Param("currencyCode") String currencyCode);
 
+    @Query("SELECT COUNT(c) FROM CryptoCurrency c WHERE c.currencyCode = :currencyCode")
+    long countByCurrencyCode(@Param("currencyCode") String currencyCode);
+
+    @Query("SELECT MAX(c.timestamp) FROM CryptoCurrency c WHERE c.currencyCode = :currencyCode")
+    Long findNewestTimestampByCurrencyCode(@Param("currencyCode") String currencyCode);
+
+    @Query("SELECT DISTINCT c.currencyCode FROM CryptoCurrency c")
+    List<String> findCurrencyCodes();
+
+    @Query(AGGREGATE + "WHERE c.currencyCode = :currencyCode GROUP BY c.currencyCode")
+    Optional<CurrencyAggregate> findAggregateByCurrencyCode(@Param("currencyCode") String currencyCode);
+
+    @Query(AGGREGATE + "WHERE c.currencyCode = :currencyCode AND c.timestamp BETWEEN :from AND :to GROUP BY c.currencyCode")
+    Optional<CurrencyAggregate> findAggregateByCurrencyCodeBetween(@Param("currencyCode") String currencyCode,
+                                                                  @Param("from") long from, @Param("to") long to);
 
-    // This is sample of how could functionality could be realized by SQL query
-//    @Query("SELECT c.currencyCode, MIN(c.price), MAX(c.price), MIN(c.timestamp), MAX(c.timestamp) " +
-//            "FROM CryptoCurrency c WHERE c.currencyCode = :currencyCode GROUP BY c.currencyCode")
-//    List<CryptoModel> findStatsBycurrencyCode(@Param("currencyCode") String currencyCode);
+    @Query(AGGREGATE + "WHERE c.currencyCode IN :currencyCodes GROUP BY c.currencyCode")
+    List<CurrencyAggregate> findAggregatesByCurrencyCodes(@Param("currencyCodes") Collection<String> currencyCodes);
 
+    @Query(AGGREGATE + "WHERE c.currencyCode IN :currencyCodes AND c.timestamp BETWEEN :from AND :to GROUP BY c.currencyCode")
+    List<CurrencyAggregate> findAggregatesByCurrencyCodesBetween(@Param("currencyCodes") Collection<String> currencyCodes,
+                                                                 @Param("from") long from, @Param("to") long to);
 
-    // This is sample of how could functionality could be realized by SQL query
-//    @Query("SELECT c.currencyCode, (MAX(c.price) - MIN(c.price)) / MIN(c.price) AS normalized_range " +
-//            "FROM CryptoCurrency c GROUP BY c.currencyCode ORDER BY normalized_range DESC")
-//    List<CryptoModel> findAllByNormalizedRange();
+    @Query("SELECT c.price FROM CryptoCurrency c WHERE c.currencyCode = :currencyCode AND c.timestamp = :timestamp")
+    List<BigDecimal> findPricesAt(@Param("currencyCode") String currencyCode, @Param("timestamp") long timestamp);
 }
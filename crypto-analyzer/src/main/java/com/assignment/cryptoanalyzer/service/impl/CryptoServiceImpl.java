@@ -1,15 +1,32 @@
 package com.assignment.cryptoanalyzer.service.impl;
 
+import com.assignment.cryptoanalyzer.cache.CacheStats;
+import com.assignment.cryptoanalyzer.cache.NormalizedRangeRanking;
+import com.assignment.cryptoanalyzer.cache.PriceSeries;
+import com.assignment.cryptoanalyzer.cache.SeriesCache;
+import com.assignment.cryptoanalyzer.cache.SymbolVersions;
+import com.assignment.cryptoanalyzer.config.auto.CacheProp;
+import com.assignment.cryptoanalyzer.config.auto.PersistenceProp;
 import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
+import com.assignment.cryptoanalyzer.metrics.CryptoMetrics;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import com.assignment.cryptoanalyzer.repository.CryptoJdbcRepository;
 import com.assignment.cryptoanalyzer.repository.CryptoRepository;
 import com.assignment.cryptoanalyzer.service.interfaces.CryptoService;
+import com.assignment.cryptoanalyzer.util.WriteBehindQueue;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Service implementation for managing cryptocurrency data, including
@@ -17,34 +34,58 @@ import java.util.concurrent.CopyOnWriteArrayList;
  *
  * <p>Key Features:
  * <ul>
- *     <li>Initializes data from a database or file source at startup.</li>
- *     <li>Maintains a thread-safe in-memory cache for fast access to cryptocurrency data.</li>
+ *     <li>Maintains a thread-safe, bounded in-memory cache that loads currencies lazily on first access.</li>
  *     <li>Supports fetching, caching, and saving cryptocurrency data.</li>
  *     <li>Automatically loads data from files to database if the database is empty.</li>
  * </ul>
  *
  * <p>Thread-Safe Components:
  * <ul>
- *     <li>Uses {@link ConcurrentHashMap} for currency cache to ensure safe concurrent access.</li>
- *     <li>Employs {@link CopyOnWriteArrayList} for storing data by currency in the cache.</li>
+ *     <li>Uses a {@link SeriesCache} with single-flight loading, so concurrent misses for one currency
+ *     trigger a single load, and least-recently-used eviction bounded by currency and tick counts
+ *     (see {@link CacheProp}).</li>
+ *     <li>Stores data by currency as a columnar {@link PriceSeries} of primitive timestamps and fixed-point prices.</li>
  * </ul>
  *
  * <p>Workflow:
  * <ol>
  *     <li>On startup, the {@link #initialize()} method checks the database state:
  *         <ul>
- *             <li>If the database is empty, data is read from files, saved to the database, and cached.</li>
- *             <li>If the database contains data, it is loaded directly into the cache.</li>
+ *             <li>If the database is empty, data is read from files, saved to the database, cached and snapshotted.</li>
+ *             <li>If the database contains data and {@code cache.warmUp} is enabled, the stored currencies
+ *             are loaded into the cache in the background, in parallel on the hydration threads.</li>
  *         </ul>
  *     </li>
- *     <li>Currency data can be fetched from the cache using {@link #getCryptoData(String)}.</li>
- *     <li>New data can be added using {@link #addNewData(List)}, which updates both the database and cache.</li>
+ *     <li>Currency data is fetched with {@link #getCryptoData(String)}. On a cache miss the currency is
+ *     restored from its binary snapshot, or loaded from the database (and snapshotted) when the snapshot
+ *     is missing or stale. Database rows are read in keyset-paginated pages straight into the series, so
+ *     no entities are created and memory stays bounded by the page size. Loaded series are snapshotted again on shutdown via {@link #shutdown()}.</li>
+ *     <li>New data can be added using {@link #addNewData(List)} or the columnar {@link #addNewData(TickBatch)},
+ *     which update the database and, for currencies that are currently cached, the cache.</li>
+ *     <li>With {@code persistence.writeBehind} enabled, new data is queued in a {@link WriteBehindQueue} and
+ *     then put into the cache at once; a background writer stores it with retries and spills it to a local
+ *     file while the database is unavailable. Series loaded from a snapshot or from the database also receive
+ *     the ticks that are still queued or spilled, so no accepted tick is missing from the cache.</li>
+ *     <li>Cache hits, misses and evictions are available from {@link #getCacheStats()}; the latency of
+ *     {@link #getCryptoData(String)} is recorded in {@link CryptoMetrics}, split into hits and misses.</li>
+ *     <li>New ticks keep the {@link NormalizedRangeRanking} returned by {@link #getRanking()} up to date.</li>
+ *     <li>New ticks bump the per-currency counters of the {@link SymbolVersions} returned by {@link #getVersions()}
+ *     once they are stored and cached, so responses derived from a currency can be reused until it changes.</li>
+ *     <li>{@link #isCold(String)} tells callers that a currency is not cached, so they can aggregate it in the
+ *     database instead, and {@link #hydrateAsync(String)} loads it into the cache on a background thread.</li>
+ *     <li>Every tick appended to a {@link PriceSeries}, at startup or via {@link #addNewData(List)}, also updates
+ *     the running min/max/oldest/newest/count aggregates and the day rollups of that series.</li>
  * </ol>
  *
  * <p>Dependencies:
  * <ul>
  *     <li>{@link CryptoRepository} - Handles database operations.</li>
+ *     <li>{@link CryptoJdbcRepository} - Inserts new ticks in large JDBC batches and reads series page by page.</li>
  *     <li>{@link FileServiceImpl} - Reads cryptocurrency data from external files.</li>
+ *     <li>{@link SnapshotServiceImpl} - Reads and writes binary snapshots of the cached series.</li>
+ *     <li>{@link CacheProp} - Defines the cache bounds.</li>
+ *     <li>{@link PersistenceProp} - Enables and configures write-behind persistence.</li>
+ *     <li>{@link CryptoMetrics} - Records cache lookup latency.</li>
  * </ul>
  *
  * <p>Annotations:
@@ -52,6 +93,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
  *     <li>{@link Service} - Marks the class as a Spring-managed service.</li>
  *     <li>{@link RequiredArgsConstructor} - Generates a constructor for required final fields.</li>
  *     <li>{@link PostConstruct} - Initializes data after bean creation.</li>
+ *     <li>{@link PreDestroy} - Drains the write-behind queue and writes snapshots before the context is closed.</li>
  * </ul>
  *
  * <p>Usage:
@@ -63,54 +105,216 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @RequiredArgsConstructor
 public class CryptoServiceImpl implements CryptoService {
 
-    private final Map<String, List<CryptoCurrency>> currencyCache = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(CryptoServiceImpl.class);
 
     private final CryptoRepository cryptoRepository;
+    private final CryptoJdbcRepository cryptoJdbcRepository;
     private final FileServiceImpl fileService;
+    private final SnapshotServiceImpl snapshotService;
+    private final CacheProp cacheProp;
+    private final PersistenceProp persistenceProp;
+    private final CryptoMetrics cryptoMetrics;
+
+    private final Set<String> hydrating = ConcurrentHashMap.newKeySet();
+    private final SymbolVersions versions = new SymbolVersions();
+    private final NormalizedRangeRanking ranking = new NormalizedRangeRanking(versions);
+
+    private SeriesCache currencyCache;
+    private WriteBehindQueue writeBehindQueue;
+    private ExecutorService hydrationPool;
 
     @PostConstruct
     public void initialize() {
+        currencyCache = new SeriesCache(cacheProp.getMaxSymbols(), cacheProp.getMaxTicks(), this::loadSeries);
+        hydrationPool = Executors.newFixedThreadPool(Math.max(1, cacheProp.getHydrationThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "series-hydration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (persistenceProp.isWriteBehind()) {
+            writeBehindQueue = new WriteBehindQueue(cryptoJdbcRepository::saveBatch, persistenceProp.getQueueCapacity(),
+                    persistenceProp.getMaxRetries(), persistenceProp.getRetryBackoffMillis(),
+                    Paths.get(persistenceProp.getSpillFile()));
+        }
         if (cryptoRepository.count() == 0) {
-            List<CryptoCurrency> dataFromFiles = fileService.readData();
-            saveToDatabase(dataFromFiles);
-            updateCache(dataFromFiles);
-        } else {
-            loadFromDatabaseToCache();
+            loadFromFiles();
+        } else if (cacheProp.isWarmUp()) {
+            warmUp();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hydrationPool.shutdownNow();
+        if (writeBehindQueue != null) {
+            writeBehindQueue.close();
         }
+        snapshotService.saveAll(currencyCache.loadedSeries());
     }
 
-    private void updateCache(List<CryptoCurrency> filesData) {
-        filesData.forEach(e ->
-                currencyCache.computeIfAbsent(e.getCurrencyCode(),
-                                key -> new CopyOnWriteArrayList<>())
-                        .add(e));
+    private void updateCache(TickBatch batch, long writeStartedAt) {
+        batch.splitByCurrency().forEach((currencyCode, ticks) -> {
+            currencyCache.update(currencyCode, writeStartedAt,
+                    series -> series.appendBatch(ticks.getTimestamps(), ticks.getPrices(), ticks.size()));
+            // Bumps the version only now that the ticks are visible, so ranges computed before are dropped.
+            ranking.invalidate(currencyCode);
+            PriceSeries series = currencyCache.getIfLoaded(currencyCode);
+            if (series != null) {
+                long version = ranking.version(currencyCode);
+                ranking.update(currencyCode, series.stats().getNormalizedRange(), version);
+            }
+        });
     }
 
-    private void loadFromDatabaseToCache() {
-        List<CryptoCurrency> allData = cryptoRepository.findAll();
-        updateCache(allData);
+    /**
+     * Loads the stored currencies into the cache on the hydration threads, so startup is not delayed and at
+     * most {@link CacheProp#getHydrationThreads()} currencies are read at the same time.
+     */
+    private void warmUp() {
+        cryptoRepository.findCurrencyCodes().stream()
+                .limit(cacheProp.getMaxSymbols())
+                .forEach(this::hydrateAsync);
     }
 
-    private List<CryptoCurrency> loadDataByCurrencyCode(String currencyCode ) {
-        return cryptoRepository.findByCurrencyCode(currencyCode);
+    private void loadFromFiles() {
+        Map<String, PriceSeries> loaded = new LinkedHashMap<>();
+        for (TickBatch batch : fileService.readData()) {
+            saveToDatabase(batch);
+            batch.splitByCurrency().forEach((currencyCode, ticks) ->
+                    loaded.computeIfAbsent(currencyCode, PriceSeries::new)
+                            .appendBatch(ticks.getTimestamps(), ticks.getPrices(), ticks.size()));
+        }
+        loaded.values().forEach(currencyCache::put);
+        snapshotService.saveAll(loaded.values());
     }
 
-    public List<CryptoCurrency> getCryptoData(String currencyCode) {
-        if(!currencyCache.containsKey(currencyCode)) {
-            List<CryptoCurrency> data = loadDataByCurrencyCode(currencyCode);
-            currencyCache.put(currencyCode, data);
+    /**
+     * Loads {@code currencyCode} from its snapshot or the database and adds the ticks that are accepted but
+     * not stored yet. Those are read first, so a batch written meanwhile is seen at least once; duplicates
+     * are ignored by the series. Snapshots hold only stored ticks, so they stay fresh.
+     */
+    private PriceSeries loadSeries(String currencyCode) {
+        TickBatch pending = writeBehindQueue == null ? null : writeBehindQueue.pendingTicks(currencyCode);
+        PriceSeries series = snapshotService.load(currencyCode).orElseGet(() -> {
+            PriceSeries loaded = loadDataByCurrencyCode(currencyCode);
+            snapshotService.saveAll(List.of(loaded));
+            return loaded;
+        });
+        if (pending != null) {
+            series.appendBatch(pending.getTimestamps(), pending.getPrices(), pending.size());
         }
-        return currencyCache.get(currencyCode);
+        return series;
+    }
+
+    private PriceSeries loadDataByCurrencyCode(String currencyCode) {
+        PriceSeries series = new PriceSeries(currencyCode);
+        cryptoJdbcRepository.readByCurrencyCode(currencyCode,
+                page -> series.appendBatch(page.getTimestamps(), page.getPrices(), page.size()));
+        return series;
+    }
+
+    public PriceSeries getCryptoData(String currencyCode) {
+        return cryptoMetrics.timeCacheLookup(currencyCache.isLoaded(currencyCode), () -> currencyCache.get(currencyCode));
+    }
+
+    /**
+     * Returns the number of cached ticks of {@code currencyCode}, or 0 when it is not cached, without loading it.
+     */
+    public long getCachedTicks(String currencyCode) {
+        PriceSeries series = currencyCache.getIfLoaded(currencyCode);
+        return series == null ? 0 : series.size();
+    }
+
+    public CacheStats getCacheStats() {
+        return currencyCache.stats();
+    }
+
+    /**
+     * Returns the maintained ranking of all-time normalized ranges. New ticks update the range of a cached
+     * currency and remove the range of any other currency from the ranking, so it is recomputed on demand.
+     */
+    public NormalizedRangeRanking getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Returns the data versions of the currencies, bumped by {@link NormalizedRangeRanking#invalidate(String)}
+     * after new ticks of a currency are stored and cached.
+     */
+    public SymbolVersions getVersions() {
+        return versions;
+    }
+
+    /**
+     * Returns whether statistics of {@code currencyCode} should be aggregated by the database: the currency
+     * is not cached, and the database already holds all of its accepted ticks.
+     */
+    public boolean isCold(String currencyCode) {
+        if (!cacheProp.isColdQueriesInDatabase() || currencyCache.isLoaded(currencyCode)) {
+            return false;
+        }
+        return writeBehindQueue == null || !writeBehindQueue.hasPendingTicks(currencyCode);
+    }
+
+    /**
+     * Loads {@code currencyCode} into the cache on a background thread, unless it is already being loaded.
+     */
+    public void hydrateAsync(String currencyCode) {
+        if (!hydrating.add(currencyCode)) {
+            return;
+        }
+        try {
+            hydrationPool.execute(() -> {
+                try {
+                    currencyCache.get(currencyCode);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to load {} into the cache: {}", currencyCode, e.getMessage());
+                } finally {
+                    hydrating.remove(currencyCode);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            hydrating.remove(currencyCode);
+        }
+    }
+
+    /**
+     * Returns the write-behind queue, or {@code null} when ticks are written synchronously.
+     */
+    public WriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
     }
 
     public void addNewData(List<CryptoCurrency> newData) {
-        saveToDatabase(newData);
-        updateCache(newData);
+        if (newData != null && !newData.isEmpty()) {
+            addNewData(TickBatch.of(newData));
+        }
+    }
+
+    /**
+     * Stores or queues {@code newData} and then appends it to the cached series. With write-behind, the ticks
+     * are queued but not yet visible in the cache until the cache update below has run; a series
+     * loaded in between receives them from the queue, and the cache update then skips them as duplicates.
+     */
+    public void addNewData(TickBatch newData) {
+        long writeStartedAt = System.nanoTime();
+        if (writeBehindQueue != null) {
+            writeBehindQueue.enqueue(newData, persistenceProp.getQueueWaitMillis());
+        } else {
+            saveToDatabase(newData);
+        }
+        updateCache(newData, writeStartedAt);
     }
 
     public void saveToDatabase(List<CryptoCurrency> cryptoCurrencies) {
         if (cryptoCurrencies != null && !cryptoCurrencies.isEmpty()) {
-            cryptoRepository.saveAllAndFlush(cryptoCurrencies);
+            saveToDatabase(TickBatch.of(cryptoCurrencies));
+        }
+    }
+
+    public void saveToDatabase(TickBatch batch) {
+        if (!batch.isEmpty()) {
+            cryptoJdbcRepository.saveBatch(batch);
         }
     }
 
@@ -1,19 +1,33 @@
 package com.assignment.cryptoanalyzer.service.impl;
 
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.cache.NormalizedRangeRanking;
+import com.assignment.cryptoanalyzer.cache.PriceSeries;
+import com.assignment.cryptoanalyzer.cache.RollupBucket;
+import com.assignment.cryptoanalyzer.cache.RollupIndex;
+import com.assignment.cryptoanalyzer.cache.SeriesStats;
+import com.assignment.cryptoanalyzer.cache.SymbolVersions;
 import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.config.auto.CacheProp;
 import com.assignment.cryptoanalyzer.converter.CryptoConverter;
 import com.assignment.cryptoanalyzer.dto.CryptoDTO;
-import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
 import com.assignment.cryptoanalyzer.model.CryptoModel;
+import com.assignment.cryptoanalyzer.model.CurrencyAggregate;
+import com.assignment.cryptoanalyzer.repository.CryptoRepository;
 import com.assignment.cryptoanalyzer.service.interfaces.CryptoStatsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.sql.Timestamp;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Service implementation for analyzing cryptocurrency statistics, including
@@ -23,21 +37,39 @@ import java.util.*;
  * <ul>
  *     <li>Calculates and provides statistics for individual or multiple cryptocurrencies.</li>
  *     <li>Supports data normalization to rank currencies based on their price range.</li>
- *     <li>Filters cryptocurrency data by specific date ranges for advanced analysis.</li>
+ *     <li>Answers per-day questions from pre-aggregated day buckets for advanced analysis.</li>
  *     <li>Validates currency codes and handles unsupported currencies with meaningful exceptions.</li>
  * </ul>
  *
  * <p>Core Methods:
  * <ul>
  *     <li>{@link #getStatsForCurrency(String)} - Retrieves statistical data for a specific currency.</li>
- *     <li>{@link #getCurrencyStatsOrderNormalizedRange()} - Returns a sorted list of currencies based on normalized price range.</li>
+ *     <li>{@link #getCurrencyStatsOrderNormalizedRange(int)} - Returns the currencies with the highest normalized price range, highest first.</li>
  *     <li>{@link #getStatsByDate(Integer, Integer, Integer)} - Retrieves statistics for currencies on a specific date.</li>
+ *     <li>{@link #getStatsForRange(String, LocalDateTime, LocalDateTime)} - Retrieves statistics for a currency within an arbitrary time window.</li>
+ *     <li>{@link #getStatsVersion(String)} / {@link #getRankingVersion()} - Return the data versions the statistics
+ *     of a currency and the ranking are computed from, as counted by {@link SymbolVersions}.</li>
  * </ul>
  *
  * <p>Implementation Details:
  * <ul>
  *     <li>Uses {@link ApplicationProp} to fetch supported currency codes.</li>
  *     <li>Integrates with {@link CryptoServiceImpl} to fetch raw cryptocurrency data.</li>
+ *     <li>Every in-memory statistic is a {@link SeriesStats} produced by the single-pass statistics kernel of the
+ *     cache: min, max, first, last, count, price sum and normalized range come out of one traversal, never out of
+ *     separate passes per value.</li>
+ *     <li>All-time statistics come from the running {@link SeriesStats} of a series and are served in constant time.</li>
+ *     <li>Per-day statistics come from the day buckets of the {@link RollupIndex}, one lookup per currency.</li>
+ *     <li>Arbitrary time windows are located by binary search over the time-sorted series and answered by its
+ *     segment tree ({@link PriceSeries#rangeStats(long, long)}), so window queries are logarithmic.</li>
+ *     <li>The normalized-range ranking is served from the {@link NormalizedRangeRanking} maintained by
+ *     {@link CryptoServiceImpl}; only currencies missing from it are computed, fanned out over a bounded pool of
+ *     {@code cache.rankingThreads} threads, so a ranking request neither recomputes nor re-sorts every currency.</li>
+ *     <li>Currencies that are not cached are answered by {@code GROUP BY} aggregate queries of
+ *     {@link CryptoRepository}, which return a few numbers per currency instead of the full history, while
+ *     {@link CryptoServiceImpl#hydrateAsync(String)} loads them into the cache for later requests.</li>
+ *     <li>Prices and normalized ranges stay fixed-point {@code long} values ({@link FixedPointPrice}) through
+ *     every calculation and comparison; {@link CryptoConverter} turns them into decimals for the response.</li>
  *     <li>Relies on {@link CryptoConverter} for converting data models to DTOs.</li>
  *     <li>Supports thread-safe operations and ensures proper exception handling for invalid input.</li>
  * </ul>
@@ -46,7 +78,7 @@ import java.util.*;
  * <ol>
  *     <li>Validates the currency code using {@link #validateCurrencyCode(String)} before proceeding with calculations.</li>
  *     <li>Calculates statistics such as maximum, minimum, and normalized price ranges for cryptocurrencies.</li>
- *     <li>Filters and processes data based on specific date ranges for detailed analysis.</li>
+ *     <li>Looks up pre-aggregated day buckets for date-specific analysis.</li>
  * </ol>
  *
  * <p>Dependencies:
@@ -54,12 +86,15 @@ import java.util.*;
  *     <li>{@link ApplicationProp} - Provides configuration for supported currencies.</li>
  *     <li>{@link CryptoServiceImpl} - Fetches raw cryptocurrency data for analysis.</li>
  *     <li>{@link CryptoConverter} - Converts internal models into DTOs for external use.</li>
+ *     <li>{@link CryptoRepository} - Aggregates prices of currencies that are not cached.</li>
+ *     <li>{@link CacheProp} - Sizes the pool computing normalized ranges.</li>
  * </ul>
  *
  * <p>Annotations:
  * <ul>
  *     <li>{@link Service} - Marks the class as a Spring-managed service.</li>
  *     <li>{@link RequiredArgsConstructor} - Generates a constructor for final dependencies.</li>
+ *     <li>{@link PostConstruct} / {@link PreDestroy} - Start and stop the ranking threads.</li>
  * </ul>
  *
  * <p>Usage:
@@ -71,22 +106,66 @@ import java.util.*;
 @RequiredArgsConstructor
 public class CryptoStatsServiceImpl implements CryptoStatsService {
 
+    private static final int RANKING_ATTEMPTS = 3;
+
     private final ApplicationProp applicationProp;
     private final CryptoServiceImpl cryptoService;
     private final CryptoConverter converter;
+    private final CryptoRepository cryptoRepository;
+    private final CacheProp cacheProp;
+
+    private ExecutorService rankingPool;
+
+    @PostConstruct
+    public void initialize() {
+        rankingPool = Executors.newFixedThreadPool(Math.max(1, cacheProp.getRankingThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "stats-ranking");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rankingPool.shutdownNow();
+    }
 
     @Override
     public CryptoDTO getStatsForCurrency(String currencyCode) {
         validateCurrencyCode(currencyCode);
+        if (isCold(currencyCode)) {
+            return converter.convertFromModelToDTO(calculateStatsInDatabase(currencyCode));
+        }
         return buildCryptoStats(currencyCode);
     }
 
     @Override
     public List<CryptoDTO> getCurrencyStatsOrderNormalizedRange() {
+        return getCurrencyStatsOrderNormalizedRange(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<CryptoDTO> getCurrencyStatsOrderNormalizedRange(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
         List<String> allCurrencyCodes = applicationProp.getCurrencyCode();
-        List<CryptoModel> stats = allCurrencyCodes.stream()
-                .map(this::buildNormalizedStats)
-                .sorted(Comparator.comparing(CryptoModel::getNormalizedRange, Comparator.nullsLast(BigDecimal::compareTo)).reversed())
+        NormalizedRangeRanking ranking = cryptoService.getRanking();
+        List<String> unrankedCurrencyCodes = allCurrencyCodes.stream()
+                .filter(code -> ranking.rangeOf(code) == null)
+                .toList();
+        // Ranges are dropped when new ticks arrive while they are computed; those currencies are computed again.
+        for (int attempt = 0; attempt < RANKING_ATTEMPTS && !unrankedCurrencyCodes.isEmpty(); attempt++) {
+            rankCurrencies(unrankedCurrencyCodes, ranking);
+            unrankedCurrencyCodes = unrankedCurrencyCodes.stream()
+                    .filter(code -> ranking.rangeOf(code) == null)
+                    .toList();
+        }
+        List<CryptoModel> stats = ranking.top(new HashSet<>(allCurrencyCodes), limit).stream()
+                .map(entry -> CryptoModel.builder()
+                        .currencyCode(entry.getCurrencyCode())
+                        .normalizedRange(entry.getNormalizedRange())
+                        .build())
                 .toList();
 
         return converter.convertFromModelToStatsList(stats);
@@ -94,13 +173,52 @@ public class CryptoStatsServiceImpl implements CryptoStatsService {
 
     @Override
     public CryptoDTO getStatsByDate(Integer day, Integer month, Integer year) {
-        LocalDateTime start = LocalDateTime.of(year, month, day, 0, 0);
-        LocalDateTime end = start.with(LocalTime.MAX);
+        LocalDate date = LocalDate.of(year, month, day);
 
-        CryptoModel model = calculateStatsByDateRange(start, end);
+        CryptoModel model = calculateStatsByDate(date);
+        if (model == null) {
+            throw new IllegalStateException("No data found for date: " + date);
+        }
         return converter.convertFromModelToDTO(model);
     }
 
+    @Override
+    public CryptoDTO getStatsForRange(String currencyCode, LocalDateTime from, LocalDateTime to) {
+        validateCurrencyCode(currencyCode);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start of the range must not be after its end");
+        }
+
+        if (isCold(currencyCode)) {
+            CurrencyAggregate aggregate = cryptoRepository
+                    .findAggregateByCurrencyCodeBetween(currencyCode, toEpochMillis(from), toEpochMillis(to))
+                    .orElseThrow(() -> noDataInRange(currencyCode, from, to));
+            return converter.convertFromModelToDTO(buildRangeModel(currencyCode, aggregate.getMinPrice(),
+                    aggregate.getMaxPrice(), aggregate.getAveragePrice(), aggregate.getOldestTimestamp(),
+                    aggregate.getNewestTimestamp()));
+        }
+
+        SeriesStats stats = findRangeStats(from, to, currencyCode);
+        if (stats.isEmpty()) {
+            throw noDataInRange(currencyCode, from, to);
+        }
+        return converter.convertFromModelToDTO(calculateStatsForRange(currencyCode, stats));
+    }
+
+    @Override
+    public long getStatsVersion(String currencyCode) {
+        String supportedCode = applicationProp.getCurrencyCode().stream()
+                .filter(code -> code.equalsIgnoreCase(currencyCode))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported currency code: " + currencyCode));
+        return cryptoService.getVersions().version(supportedCode);
+    }
+
+    @Override
+    public long getRankingVersion() {
+        return cryptoService.getVersions().globalVersion();
+    }
+
     @Override
     public void validateCurrencyCode(String currencyCode) {
         List<String> supportedCurrencies = applicationProp.getCurrencyCode();
@@ -110,100 +228,181 @@ public class CryptoStatsServiceImpl implements CryptoStatsService {
     }
 
     private CryptoDTO buildCryptoStats(String currencyCode) {
-        CryptoModel statsModel = calculateStats(currencyCode, false, true);
+        CryptoModel statsModel = calculateStats(currencyCode);
         return converter.convertFromModelToDTO(statsModel);
     }
 
-    private CryptoModel buildNormalizedStats(String currencyCode) {
-        return calculateStats(currencyCode, true, false);
+    /**
+     * Records the normalized ranges of {@code currencyCodes} in {@code ranking}: currencies that are not cached
+     * with one aggregate query, the others fanned out over the ranking threads, and waits for all of them.
+     * Every range is recorded with the version read before computing it, so stale ranges are dropped.
+     */
+    private void rankCurrencies(List<String> currencyCodes, NormalizedRangeRanking ranking) {
+        List<String> coldCurrencyCodes = coldCurrencyCodes(currencyCodes);
+        if (!coldCurrencyCodes.isEmpty()) {
+            Map<String, Long> versions = new HashMap<>();
+            coldCurrencyCodes.forEach(code -> versions.put(code, ranking.version(code)));
+            calculateNormalizedInDatabase(coldCurrencyCodes, cryptoRepository.findAggregatesByCurrencyCodes(coldCurrencyCodes))
+                    .forEach((code, model) -> ranking.update(code, model.getNormalizedRange(), versions.get(code)));
+        }
+        CompletableFuture<?>[] ranked = currencyCodes.stream()
+                .filter(code -> !coldCurrencyCodes.contains(code))
+                .map(code -> CompletableFuture.runAsync(() -> {
+                    long version = ranking.version(code);
+                    ranking.update(code, cryptoService.getCryptoData(code).stats().getNormalizedRange(), version);
+                }, rankingPool))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(ranked).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
-    private CryptoModel calculateStats(String currencyCode, boolean includeNormalized, boolean includeStats) {
-        List<CryptoCurrency> data = cryptoService.getCryptoData(currencyCode);
-
-        CryptoModel.CryptoModelBuilder builder = CryptoModel.builder();
-        BigDecimal maxPrice = calculateMaxPrice(data);
-        BigDecimal minPrice = calculateMinPrice(data);
-
-        if (includeStats) {
-            builder
-                    .maxPrice(maxPrice)
-                    .minPrice(minPrice)
-                    .oldestPrice(calculateOldestPrice(data))
-                    .newestPrice(calculateNewestPrice(data));
-        } else if(includeNormalized) {
-            builder
-                    .normalizedRange(calculateNormalizedRange(minPrice, maxPrice));
-        }
+    private CryptoModel calculateStats(String currencyCode) {
+        SeriesStats stats = cryptoService.getCryptoData(currencyCode).stats();
 
-        return builder.build();
+        return CryptoModel.builder()
+                .currencyCode(currencyCode)
+                .maxPrice(toPrice(stats, stats.getMaxPrice()))
+                .minPrice(toPrice(stats, stats.getMinPrice()))
+                .averagePrice(stats.getAveragePrice())
+                .oldestPrice(toPrice(stats, stats.getOldestPrice()))
+                .newestPrice(toPrice(stats, stats.getNewestPrice()))
+                .oldestDateTime(stats.isEmpty() ? null : formatTimestamp(stats.getOldestTimestamp()))
+                .newestDateTime(stats.isEmpty() ? null : formatTimestamp(stats.getNewestTimestamp()))
+                .build();
     }
 
-    private CryptoModel calculateStatsByDateRange(LocalDateTime start, LocalDateTime end) {
+    private CryptoModel calculateStatsByDate(LocalDate date) {
         List<String> allCurrencyCodes = applicationProp.getCurrencyCode();
+        List<String> coldCurrencyCodes = coldCurrencyCodes(allCurrencyCodes);
+        ZoneId zone = ZoneId.systemDefault();
+        long dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        long dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+        Map<String, CryptoModel> coldStats = coldCurrencyCodes.isEmpty() ? Map.of() : calculateNormalizedInDatabase(List.of(),
+                cryptoRepository.findAggregatesByCurrencyCodesBetween(coldCurrencyCodes, dayStart, dayEnd));
 
         return allCurrencyCodes.stream()
-                .map(code -> filterByDateRange(start, end, code))
-                .filter(list -> !list.isEmpty())
-                .map(this::calculateStatsForDateRange)
-                .max(Comparator.comparing(CryptoModel::getNormalizedRange, Comparator.nullsLast(BigDecimal::compareTo)))
+                .map(code -> coldCurrencyCodes.contains(code) ? coldStats.get(code) : calculateStatsForDay(code, date))
+                .filter(Objects::nonNull)
+                .max(Comparator.comparing(CryptoModel::getNormalizedRange, Comparator.nullsLast(Long::compare)))
                 .orElse(null);
     }
 
-    private List<CryptoCurrency> filterByDateRange(LocalDateTime from, LocalDateTime to, String currencyCode) {
-        List<CryptoCurrency> data = cryptoService.getCryptoData(currencyCode);
-        long fromMillis = Timestamp.valueOf(from).getTime();
-        long toMillis = Timestamp.valueOf(to).getTime();
+    private CryptoModel calculateStatsForDay(String currencyCode, LocalDate date) {
+        RollupBucket bucket = cryptoService.getCryptoData(currencyCode).rollups().day(date);
+        if (bucket == null) {
+            return null;
+        }
+        return CryptoModel.builder()
+                .currencyCode(currencyCode)
+                .normalizedRange(bucket.getStats().getNormalizedRange())
+                .build();
+    }
 
-        return data.stream()
-                .filter(item -> item.getTimestamp() >= fromMillis && item.getTimestamp() <= toMillis)
-                .toList();
+    private SeriesStats findRangeStats(LocalDateTime from, LocalDateTime to, String currencyCode) {
+        return cryptoService.getCryptoData(currencyCode).rangeStats(toEpochMillis(from), toEpochMillis(to));
     }
 
-    private CryptoModel calculateStatsForDateRange(List<CryptoCurrency> data) {
-        BigDecimal maxPrice = calculateMaxPrice(data);
-        BigDecimal minPrice = calculateMinPrice(data);
-        BigDecimal normalizedRange = calculateNormalizedRange(minPrice, maxPrice);
+    private CryptoModel calculateStatsForRange(String currencyCode, SeriesStats stats) {
+        return buildRangeModel(currencyCode, stats.getMinPrice(), stats.getMaxPrice(), stats.getAveragePrice(),
+                stats.getOldestTimestamp(), stats.getNewestTimestamp());
+    }
 
+    private CryptoModel buildRangeModel(String currencyCode, long minPrice, long maxPrice, long averagePrice,
+                                        long oldestTimestamp, long newestTimestamp) {
         return CryptoModel.builder()
-                .currencyCode(data.get(0).getCurrencyCode())
-                .normalizedRange(normalizedRange)
+                .currencyCode(currencyCode)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .averagePrice(averagePrice)
+                .normalizedRange(FixedPointPrice.normalizedRange(minPrice, maxPrice))
+                .oldestDateTime(formatTimestamp(oldestTimestamp))
+                .newestDateTime(formatTimestamp(newestTimestamp))
                 .build();
     }
 
-    private BigDecimal calculateMaxPrice(List<CryptoCurrency> data) {
-        return data.stream()
-                .map(CryptoCurrency::getPrice)
-                .max(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+    /**
+     * Returns whether {@code currencyCode} is answered by the database; if so, it is also loaded into the
+     * cache in the background, so later requests are served from memory.
+     */
+    private boolean isCold(String currencyCode) {
+        if (!cryptoService.isCold(currencyCode)) {
+            return false;
+        }
+        cryptoService.hydrateAsync(currencyCode);
+        return true;
     }
 
-    private BigDecimal calculateMinPrice(List<CryptoCurrency> data) {
-        return data.stream()
-                .map(CryptoCurrency::getPrice)
-                .min(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+    private List<String> coldCurrencyCodes(List<String> currencyCodes) {
+        return currencyCodes.stream().filter(this::isCold).toList();
     }
 
-    private BigDecimal calculateOldestPrice(List<CryptoCurrency> data) {
-        return data.stream()
-                .min(Comparator.comparingLong(CryptoCurrency::getTimestamp))
-                .map(CryptoCurrency::getPrice)
-                .orElse(BigDecimal.ZERO);
+    private CryptoModel calculateStatsInDatabase(String currencyCode) {
+        CryptoModel.CryptoModelBuilder builder = CryptoModel.builder()
+                .currencyCode(currencyCode);
+        Optional<CurrencyAggregate> found = cryptoRepository.findAggregateByCurrencyCode(currencyCode);
+        if (found.isEmpty()) {
+            return builder
+                    .maxPrice(0L)
+                    .minPrice(0L)
+                    .averagePrice(0L)
+                    .oldestPrice(0L)
+                    .newestPrice(0L)
+                    .build();
+        }
+        CurrencyAggregate aggregate = found.get();
+        return builder
+                .maxPrice(aggregate.getMaxPrice())
+                .minPrice(aggregate.getMinPrice())
+                .averagePrice(aggregate.getAveragePrice())
+                .oldestPrice(findPriceAt(currencyCode, aggregate.getOldestTimestamp()))
+                .newestPrice(findPriceAt(currencyCode, aggregate.getNewestTimestamp()))
+                .oldestDateTime(formatTimestamp(aggregate.getOldestTimestamp()))
+                .newestDateTime(formatTimestamp(aggregate.getNewestTimestamp()))
+                .build();
     }
 
-    private BigDecimal calculateNewestPrice(List<CryptoCurrency> data) {
-        return data.stream()
-                .max(Comparator.comparingLong(CryptoCurrency::getTimestamp))
-                .map(CryptoCurrency::getPrice)
-                .orElse(BigDecimal.ZERO);
+    /**
+     * Builds normalized-range models from database aggregates; currencies of {@code currencyCodes} without
+     * rows get a zero range, like an empty cached series.
+     */
+    private Map<String, CryptoModel> calculateNormalizedInDatabase(List<String> currencyCodes, List<CurrencyAggregate> aggregates) {
+        Map<String, CryptoModel> models = new HashMap<>();
+        for (String currencyCode : currencyCodes) {
+            models.put(currencyCode, CryptoModel.builder()
+                    .currencyCode(currencyCode)
+                    .normalizedRange(0L)
+                    .build());
+        }
+        for (CurrencyAggregate aggregate : aggregates) {
+            models.put(aggregate.getCurrencyCode(), CryptoModel.builder()
+                    .currencyCode(aggregate.getCurrencyCode())
+                    .normalizedRange(FixedPointPrice.normalizedRange(aggregate.getMinPrice(), aggregate.getMaxPrice()))
+                    .build());
+        }
+        return models;
     }
 
-    private BigDecimal calculateNormalizedRange(BigDecimal min, BigDecimal max) {
-        if (min == null || max == null || min.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-        return max.subtract(min).divide(min, 5, BigDecimal.ROUND_HALF_UP);
+    private long findPriceAt(String currencyCode, long timestamp) {
+        List<BigDecimal> prices = cryptoRepository.findPricesAt(currencyCode, timestamp);
+        return prices.isEmpty() ? 0L : FixedPointPrice.toScaled(prices.get(0));
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private IllegalStateException noDataInRange(String currencyCode, LocalDateTime from, LocalDateTime to) {
+        return new IllegalStateException("No data found for " + currencyCode + " between " + from + " and " + to);
+    }
+
+    private long toPrice(SeriesStats stats, long price) {
+        return stats.isEmpty() ? 0L : price;
     }
 
     public String formatTimestamp(Long timestamp) {
@@ -0,0 +1,130 @@
+package com.assignment.cryptoanalyzer.service.impl;
+
+import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.config.auto.GeneratorProp;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import com.assignment.cryptoanalyzer.util.MarketDataGenerator;
+import com.assignment.cryptoanalyzer.util.TickFileWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+/**
+ * Service implementation that fills the application with synthetic market data for load and soak tests.
+ *
+ * <p>Key Features:
+ * <ul>
+ *     <li>Generates ticks with a {@link MarketDataGenerator} once the application is ready, on a background
+ *     thread, so the endpoints can be queried while data keeps arriving.</li>
+ *     <li>Sends the ticks into the ingest path ({@link CryptoServiceImpl#addNewData(TickBatch)}, i.e. the
+ *     database or the write-behind queue and the cache), or writes them to a CSV or binary file, as chosen by
+ *     {@link GeneratorProp#getOutput()}.</li>
+ * </ul>
+ *
+ * <p>Implementation Details:
+ * <ul>
+ *     <li>The bean exists only with {@code generator.enabled: true}.</li>
+ *     <li>Without {@code generator.symbols} or {@code generator.symbolCount} the configured
+ *     {@code currencies.currencyCode} are generated.</li>
+ *     <li>Generated currency codes that are not listed in {@code currencies.currencyCode} are stored and cached,
+ *     but the stats endpoints only serve the configured codes.</li>
+ *     <li>Generation stops at the next batch when the application shuts down.</li>
+ * </ul>
+ *
+ * <p>Dependencies:
+ * <ul>
+ *     <li>{@link CryptoServiceImpl} - Persists and caches generated batches.</li>
+ *     <li>{@link ApplicationProp} - Provides the supported and by default generated currency codes.</li>
+ *     <li>{@link GeneratorProp} - Defines the generated data and its destination.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "generator", name = "enabled", havingValue = "true")
+public class DataGeneratorServiceImpl {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGeneratorServiceImpl.class);
+
+    private final CryptoServiceImpl cryptoService;
+    private final ApplicationProp applicationProp;
+    private final GeneratorProp generatorProp;
+
+    private volatile boolean stopped;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::generate, "market-data-generator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Generates all configured ticks into the configured output and returns their number.
+     */
+    public long generate() {
+        MarketDataGenerator generator = new MarketDataGenerator(generatorProp, applicationProp.getCurrencyCode());
+        List<String> unsupported = generator.getSymbols().stream()
+                .filter(symbol -> !applicationProp.getCurrencyCode().contains(symbol))
+                .toList();
+        if (!unsupported.isEmpty() && generatorProp.getOutput() == GeneratorProp.Output.INGEST) {
+            logger.warn("{} generated currencies are not configured and cannot be queried, e.g. {}",
+                    unsupported.size(), unsupported.get(0));
+        }
+        logger.info("Generating about {} ticks of {} currencies into {}", generator.expectedTicks(),
+                generator.getSymbols().size(), generatorProp.getOutput());
+        long startedAt = System.nanoTime();
+        long generated;
+        try {
+            generated = switch (generatorProp.getOutput()) {
+                case INGEST -> generator.generate(stoppable(cryptoService::addNewData));
+                case CSV -> writeFile(generator, TickFileWriter.csv(outputFile()));
+                case BINARY -> writeFile(generator, TickFileWriter.binary(outputFile()));
+            };
+        } catch (CancellationException e) {
+            logger.info("Data generation stopped by shutdown");
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Data generation failed: {}", e.getMessage(), e);
+            return 0;
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        logger.info("Generated {} ticks in {} ms ({} ticks/s)", generated, elapsedMillis, generated * 1_000 / elapsedMillis);
+        return generated;
+    }
+
+    private long writeFile(MarketDataGenerator generator, TickFileWriter writer) throws IOException {
+        try (writer) {
+            return generator.generate(stoppable(writer));
+        }
+    }
+
+    private Consumer<TickBatch> stoppable(Consumer<TickBatch> sink) {
+        return batch -> {
+            if (stopped) {
+                throw new CancellationException();
+            }
+            sink.accept(batch);
+        };
+    }
+
+    private Path outputFile() {
+        return Paths.get(generatorProp.getFile());
+    }
+}
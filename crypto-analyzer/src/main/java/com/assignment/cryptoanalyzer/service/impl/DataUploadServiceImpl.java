@@ -0,0 +1,66 @@
+package com.assignment.cryptoanalyzer.service.impl;
+
+import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.config.auto.UploadProp;
+import com.assignment.cryptoanalyzer.dto.UploadResultDTO;
+import com.assignment.cryptoanalyzer.model.CsvReadResult;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for importing uploaded price files.
+ *
+ * <p>The uploaded file is never materialized on the heap: the multipart content is spooled to disk
+ * by the servlet container and read back as a stream by {@link FileServiceImpl}, which hands over
+ * rows in batches of {@link UploadProp#getBatchSize()}. Every batch is written to the database and
+ * the cache through {@link CryptoServiceImpl#addNewData(TickBatch)} as soon as it is parsed,
+ * so memory stays flat regardless of the file size.
+ *
+ * <p>Dependencies:
+ * <ul>
+ *     <li>{@link FileServiceImpl} - Parses the CSV stream.</li>
+ *     <li>{@link CryptoServiceImpl} - Persists and caches parsed batches.</li>
+ *     <li>{@link ApplicationProp} - Provides the supported currency codes.</li>
+ *     <li>{@link UploadProp} - Provides the batch size.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class DataUploadServiceImpl {
+
+    private final FileServiceImpl fileService;
+    private final CryptoServiceImpl cryptoService;
+    private final ApplicationProp applicationProp;
+    private final UploadProp uploadProp;
+
+    public UploadResultDTO upload(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Uploaded file is empty");
+        }
+
+        long started = System.nanoTime();
+        CsvReadResult result;
+        try (InputStream inputStream = file.getInputStream()) {
+            result = fileService.readData(inputStream, uploadProp.getBatchSize(), applicationProp.getCurrencyCode(),
+                    batch -> cryptoService.addNewData(batch));
+        } catch (IOException e) {
+            throw new RuntimeException("There was an error on reading uploaded file: " + file.getOriginalFilename(), e);
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        return UploadResultDTO.builder()
+                .fileName(file.getOriginalFilename())
+                .acceptedRows(result.getAcceptedRows())
+                .rejectedRows(result.getRejectedRows())
+                .batches(result.getBatches())
+                .durationMillis(durationMillis)
+                .rowsPerSecond(result.getAcceptedRows() * 1000 / Math.max(durationMillis, 1))
+                .build();
+    }
+}
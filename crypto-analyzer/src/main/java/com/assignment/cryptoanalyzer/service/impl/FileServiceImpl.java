@@ -1,18 +1,24 @@
 package com.assignment.cryptoanalyzer.service.impl;
 
 import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
-import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
+import com.assignment.cryptoanalyzer.metrics.CryptoMetrics;
+import com.assignment.cryptoanalyzer.model.CsvReadResult;
+import com.assignment.cryptoanalyzer.model.TickBatch;
 import com.assignment.cryptoanalyzer.util.ApplicationUtils;
+import com.assignment.cryptoanalyzer.util.MappedCsvReader;
+import com.assignment.cryptoanalyzer.util.PriceCsvParser;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import static org.apache.commons.lang3.math.NumberUtils.isCreatable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 /**
  * Service implementation for loading and processing cryptocurrency data from CSV files.
@@ -25,27 +31,36 @@ import static org.apache.commons.lang3.math.NumberUtils.isCreatable;
  * <ul>
  *     <li>Reads CSV files corresponding to supported cryptocurrency codes defined in the configuration.</li>
  *     <li>Validates and filters raw data to ensure accuracy before processing.</li>
- *     <li>Transforms CSV rows into {@link CryptoCurrency} entities for system-wide usage.</li>
+ *     <li>Transforms CSV rows into columnar {@link TickBatch} instances for system-wide usage.</li>
  * </ul>
  *
  * <p>Core Methods:
  * <ul>
  *     <li>{@link #readData()} - Entry point to load and process all cryptocurrency data from CSV files.</li>
  *     <li>{@link #loadDataFromCSV()} - Retrieves and processes data for all supported cryptocurrencies.</li>
- *     <li>{@link #getInfoFromFile(String)} - Reads and converts the content of a specific CSV file.</li>
+ *     <li>{@link #getInfoFromFile(String)} - Memory-maps a specific CSV file and parses it in parallel segments.</li>
+ *     <li>{@link #readData(InputStream, int, Collection, Consumer)} - Parses an arbitrarily large CSV stream
+ *     and hands rows over in bounded batches, so memory does not depend on the stream size.</li>
  * </ul>
  *
  * <p>Implementation Details:
  * <ul>
  *     <li>Relies on {@link ApplicationProp} to fetch the list of supported currency codes.</li>
- *     <li>Uses {@link ApplicationUtils#getFileContent(String)} to read raw data from CSV files.</li>
+ *     <li>Uses {@link ApplicationUtils#getFilePath(String)} to locate CSV files.</li>
+ *     <li>All configured currency files are read concurrently on the common fork-join pool; each file is
+ *     memory-mapped and split into newline-aligned segments by {@link MappedCsvReader}, which are parsed
+ *     in parallel on the same pool and returned in file order.</li>
+ *     <li>Parses rows with {@link PriceCsvParser} straight into primitives, without intermediate strings.</li>
  *     <li>Filters invalid rows (e.g., missing or non-numeric data) during processing.</li>
+ *     <li>Records parse time and parsed rows in {@link CryptoMetrics}; the time a batch consumer spends on a
+ *     batch, e.g. writing it to the database, is not counted as parse time.</li>
  * </ul>
  *
  * <p>Dependencies:
  * <ul>
  *     <li>{@link ApplicationProp} - Provides configuration for the application, including supported currencies.</li>
  *     <li>{@link ApplicationUtils} - Utility class for file operations.</li>
+ *     <li>{@link CryptoMetrics} - Records CSV parse throughput.</li>
  * </ul>
  *
  * <p>Constants:
@@ -77,31 +92,64 @@ import static org.apache.commons.lang3.math.NumberUtils.isCreatable;
 public class FileServiceImpl {
 
     private static final String FILE_NAME_EXTENSION = "_values.csv";
+    private static final int FILE_BATCH_SIZE = 65_536;
+    private static final ForkJoinPool PARSE_POOL = ForkJoinPool.commonPool();
 
     @Autowired
     private ApplicationProp applicationProp;
 
-    public List<CryptoCurrency> readData() {
+    @Autowired
+    private CryptoMetrics cryptoMetrics;
+
+    public List<TickBatch> readData() {
         return loadDataFromCSV();
     }
 
-    public List<CryptoCurrency> loadDataFromCSV() {
+    public List<TickBatch> loadDataFromCSV() {
         List<String> currencyData = applicationProp.getCurrencyCode();
-        return currencyData.stream()
+        List<ForkJoinTask<List<TickBatch>>> files = currencyData.stream()
                 .map(currency -> currency + FILE_NAME_EXTENSION)
-                .flatMap(fileName -> getInfoFromFile(fileName).stream())
-                .collect(Collectors.toList());
+                .map(fileName -> PARSE_POOL.submit(() -> getInfoFromFile(fileName)))
+                .toList();
+        return files.stream()
+                .flatMap(file -> file.join().stream())
+                .toList();
+    }
+
+    /**
+     * Streams CSV rows in the {@code timestamp,symbol,price} format and passes them to
+     * {@code batchConsumer} in batches of at most {@code batchSize} rows. A leading header line is
+     * skipped; malformed rows and rows with a currency code outside {@code supportedCurrencies}
+     * are counted as rejected.
+     */
+    public CsvReadResult readData(InputStream inputStream, int batchSize, Collection<String> supportedCurrencies,
+                                  Consumer<TickBatch> batchConsumer) {
+        long[] consumerNanos = new long[1];
+        long startedAt = System.nanoTime();
+        try {
+            CsvReadResult result = new PriceCsvParser(supportedCurrencies).parse(inputStream, batchSize, batch -> {
+                long consumerStartedAt = System.nanoTime();
+                batchConsumer.accept(batch);
+                consumerNanos[0] += System.nanoTime() - consumerStartedAt;
+            });
+            cryptoMetrics.recordCsvParse(CryptoMetrics.SOURCE_UPLOAD, result, System.nanoTime() - startedAt - consumerNanos[0]);
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException("There was an error on parsing CSV stream: " + e.getMessage(), e);
+        }
     }
 
-    private List<CryptoCurrency> getInfoFromFile(String fileName) {
-        return ApplicationUtils.getFileContent(fileName).parallelStream()
-                .filter(row -> isCreatable(row.get(0)) && isCreatable(row.get(2))) // Проверка на корректность данных
-                .map(row -> new CryptoCurrency(
-                        null,
-                        Long.parseLong(row.get(0)),  // timestamp
-                        row.get(1),                 // currencyCode
-                        BigDecimal.valueOf(Double.parseDouble(row.get(2))) // price
-                ))
-                .collect(Collectors.toList());
+    private List<TickBatch> getInfoFromFile(String fileName) {
+        long startedAt = System.nanoTime();
+        try {
+            List<TickBatch> batches = MappedCsvReader.read(ApplicationUtils.getFilePath(fileName),
+                    applicationProp.getCurrencyCode(), FILE_BATCH_SIZE, PARSE_POOL);
+            long rows = batches.stream().mapToLong(TickBatch::size).sum();
+            cryptoMetrics.recordCsvParse(CryptoMetrics.SOURCE_FILE, new CsvReadResult(rows, 0, batches.size()),
+                    System.nanoTime() - startedAt);
+            return batches;
+        } catch (IOException e) {
+            throw new RuntimeException("There was an error on parsing CSV file: " + fileName + " " + e.getMessage(), e);
+        }
     }
 }
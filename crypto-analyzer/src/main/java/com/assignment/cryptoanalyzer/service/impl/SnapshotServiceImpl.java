@@ -0,0 +1,111 @@
+package com.assignment.cryptoanalyzer.service.impl;
+
+import com.assignment.cryptoanalyzer.cache.PriceSeries;
+import com.assignment.cryptoanalyzer.cache.SeriesSnapshot;
+import com.assignment.cryptoanalyzer.config.auto.SnapshotProp;
+import com.assignment.cryptoanalyzer.repository.CryptoRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service implementation for reading and writing binary snapshots of the per-currency price series.
+ *
+ * <p>Key Features:
+ * <ul>
+ *     <li>Writes every cached {@link PriceSeries} as a compact {@link SeriesSnapshot}: delta-encoded
+ *     timestamps and fixed-point prices.</li>
+ *     <li>Restores a series from its memory-mapped snapshot at startup without touching Hibernate.</li>
+ *     <li>Rejects stale snapshots, so the caller falls back to the database.</li>
+ * </ul>
+ *
+ * <p>Core Methods:
+ * <ul>
+ *     <li>{@link #load(String)} - Returns the series stored in a fresh snapshot, if there is one.</li>
+ *     <li>{@link #saveAll(Collection)} - Writes snapshots for the given series.</li>
+ * </ul>
+ *
+ * <p>Implementation Details:
+ * <ul>
+ *     <li>A snapshot is fresh when its tick count and newest timestamp match the database rows of
+ *     the currency; both values are read by two aggregate queries instead of loading the rows.</li>
+ *     <li>Missing, unreadable, corrupted or outdated snapshots are reported as absent, never as errors.</li>
+ *     <li>Snapshot files are named {@code <currencyCode>.snapshot} and live in the directory configured
+ *     by {@link SnapshotProp}.</li>
+ * </ul>
+ *
+ * <p>Dependencies:
+ * <ul>
+ *     <li>{@link CryptoRepository} - Provides per-currency row count and newest timestamp.</li>
+ *     <li>{@link SnapshotProp} - Enables snapshots and defines their directory.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class SnapshotServiceImpl {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotServiceImpl.class);
+    private static final String FILE_NAME_EXTENSION = ".snapshot";
+
+    private final CryptoRepository cryptoRepository;
+    private final SnapshotProp snapshotProp;
+
+    public Optional<PriceSeries> load(String currencyCode) {
+        Path file = snapshotFile(currencyCode);
+        if (!snapshotProp.isEnabled() || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            SeriesSnapshot snapshot = SeriesSnapshot.open(file);
+            if (!currencyCode.equals(snapshot.getCurrencyCode()) || isStale(snapshot)) {
+                logger.info("Snapshot of {} is stale, loading it from the database", currencyCode);
+                return Optional.empty();
+            }
+            return Optional.of(snapshot.toSeries());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Snapshot of {} cannot be read, loading it from the database: {}", currencyCode, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void saveAll(Collection<PriceSeries> series) {
+        if (!snapshotProp.isEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(Paths.get(snapshotProp.getDirectory()));
+        } catch (IOException e) {
+            logger.warn("Snapshot directory {} cannot be created: {}", snapshotProp.getDirectory(), e.getMessage());
+            return;
+        }
+        for (PriceSeries item : series) {
+            try {
+                SeriesSnapshot.write(item, snapshotFile(item.getCurrencyCode()));
+            } catch (IOException e) {
+                logger.warn("Snapshot of {} cannot be written: {}", item.getCurrencyCode(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean isStale(SeriesSnapshot snapshot) {
+        String currencyCode = snapshot.getCurrencyCode();
+        if (snapshot.getCount() != cryptoRepository.countByCurrencyCode(currencyCode)) {
+            return true;
+        }
+        Long newestTimestamp = cryptoRepository.findNewestTimestampByCurrencyCode(currencyCode);
+        return snapshot.getCount() > 0 && !Objects.equals(newestTimestamp, snapshot.getNewestTimestamp());
+    }
+
+    private Path snapshotFile(String currencyCode) {
+        return Paths.get(snapshotProp.getDirectory(), currencyCode + FILE_NAME_EXTENSION);
+    }
+}
@@ -0,0 +1,184 @@
+package com.assignment.cryptoanalyzer.service.impl;
+
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.config.auto.IngestProp;
+import com.assignment.cryptoanalyzer.dto.IngestResultDTO;
+import com.assignment.cryptoanalyzer.dto.TickDTO;
+import com.assignment.cryptoanalyzer.exceptions.IngestBackpressureException;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import com.assignment.cryptoanalyzer.util.TickMicroBatcher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service implementation for real-time tick ingestion.
+ *
+ * <p>Key Features:
+ * <ul>
+ *     <li>Accepts ticks as a JSON array ({@link #ingest(List)}) or as a newline-delimited JSON stream
+ *     ({@link #ingestStream(InputStream)}).</li>
+ *     <li>Coalesces ticks of all clients into micro-batches that are flushed by size or age, see
+ *     {@link IngestProp}.</li>
+ *     <li>Writes every flushed batch to the database and the cache at once through
+ *     {@link CryptoServiceImpl#addNewData(TickBatch)}.</li>
+ *     <li>Applies backpressure: a JSON array that does not fit into the pending ticks is refused at once,
+ *     a stream waits up to {@link IngestProp#getStreamWaitMillis()} for the writer before it is refused.</li>
+ * </ul>
+ *
+ * <p>Implementation Details:
+ * <ul>
+ *     <li>Ticks with an unsupported currency code, a missing price, a price with more than 10 integer digits
+ *     (beyond the {@code DECIMAL(18, 8)} column, as in CSV uploads), a non-positive timestamp or malformed
+ *     JSON are counted as rejected and skipped.</li>
+ *     <li>A stream is read line by line and submitted in chunks of {@link IngestProp#getBatchSize()} ticks,
+ *     so memory does not depend on the stream length.</li>
+ *     <li>Accepted ticks are acknowledged once queued; they become visible after the next flush.</li>
+ *     <li>Only transient failures are retried: an unreachable database, timeouts, deadlocks and a full
+ *     write-behind queue. A batch failing otherwise, e.g. on a constraint, is dropped and logged, so it
+ *     cannot block the ingest.</li>
+ * </ul>
+ *
+ * <p>Dependencies:
+ * <ul>
+ *     <li>{@link CryptoServiceImpl} - Persists and caches flushed batches.</li>
+ *     <li>{@link ApplicationProp} - Provides the supported currency codes.</li>
+ *     <li>{@link IngestProp} - Provides batching and backpressure limits.</li>
+ *     <li>{@link ObjectMapper} - Reads stream lines.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class TickIngestServiceImpl {
+
+    private final CryptoServiceImpl cryptoService;
+    private final ApplicationProp applicationProp;
+    private final IngestProp ingestProp;
+    private final ObjectMapper objectMapper;
+
+    private TickMicroBatcher batcher;
+
+    @PostConstruct
+    public void start() {
+        batcher = new TickMicroBatcher(ingestProp.getBatchSize(), ingestProp.getFlushIntervalMillis(),
+                ingestProp.getMaxPendingTicks(), ingestProp.getRetryBackoffMillis(), TickIngestServiceImpl::isTransient,
+                cryptoService::addNewData);
+    }
+
+    @PreDestroy
+    public void stop() {
+        batcher.close();
+    }
+
+    public TickMicroBatcher getBatcher() {
+        return batcher;
+    }
+
+    public IngestResultDTO ingest(List<TickDTO> ticks) {
+        if (ticks == null || ticks.isEmpty()) {
+            throw new IllegalArgumentException("No ticks to ingest");
+        }
+        Set<String> supportedCurrencies = new HashSet<>(applicationProp.getCurrencyCode());
+        TickBatch batch = new TickBatch(ticks.size());
+        long rejected = 0;
+        for (TickDTO tick : ticks) {
+            if (!addTick(batch, tick, supportedCurrencies)) {
+                rejected++;
+            }
+        }
+        batcher.submit(batch, 0);
+        return result(batch.size(), rejected);
+    }
+
+    public IngestResultDTO ingestStream(InputStream inputStream) {
+        Set<String> supportedCurrencies = new HashSet<>(applicationProp.getCurrencyCode());
+        ObjectReader reader = objectMapper.readerFor(TickDTO.class);
+        int chunkSize = Math.max(1, ingestProp.getBatchSize());
+        TickBatch chunk = new TickBatch(chunkSize);
+        long accepted = 0;
+        long rejected = 0;
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (!addTick(chunk, readTick(reader, line), supportedCurrencies)) {
+                    rejected++;
+                    continue;
+                }
+                if (chunk.isFull()) {
+                    batcher.submit(chunk, ingestProp.getStreamWaitMillis());
+                    accepted += chunk.size();
+                    chunk = new TickBatch(chunkSize);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("There was an error on reading tick stream: " + e.getMessage(), e);
+        }
+        batcher.submit(chunk, ingestProp.getStreamWaitMillis());
+        accepted += chunk.size();
+        return result(accepted, rejected);
+    }
+
+    private TickDTO readTick(ObjectReader reader, String line) {
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private boolean addTick(TickBatch batch, TickDTO tick, Set<String> supportedCurrencies) {
+        if (tick == null || tick.getPrice() == null || tick.getTimestamp() <= 0
+                || !supportedCurrencies.contains(tick.getSymbol())) {
+            return false;
+        }
+        long price;
+        try {
+            price = FixedPointPrice.toScaled(tick.getPrice());
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        if (!FixedPointPrice.isStorable(price)) {
+            return false;
+        }
+        batch.add(tick.getSymbol(), tick.getTimestamp(), price);
+        return true;
+    }
+
+    /**
+     * Returns whether a failed write may succeed when it is repeated unchanged.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof IngestBackpressureException;
+    }
+
+    private IngestResultDTO result(long accepted, long rejected) {
+        return IngestResultDTO.builder()
+                .acceptedTicks(accepted)
+                .rejectedTicks(rejected)
+                .pendingTicks(batcher.pendingTicks())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.assignment.cryptoanalyzer.service.interfaces;
 
 import com.assignment.cryptoanalyzer.dto.CryptoDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CryptoStatsService {
@@ -10,8 +11,16 @@ public interface CryptoStatsService {
 
     List<CryptoDTO> getCurrencyStatsOrderNormalizedRange();
 
+    List<CryptoDTO> getCurrencyStatsOrderNormalizedRange(int limit);
+
     CryptoDTO getStatsByDate(Integer day, Integer month, Integer year);
 
+    CryptoDTO getStatsForRange(String currencyCode, LocalDateTime from, LocalDateTime to);
+
+    long getStatsVersion(String currencyCode);
+
+    long getRankingVersion();
+
     String formatTimestamp(Long timestamp);
 
     void validateCurrencyCode(String currencyCode);
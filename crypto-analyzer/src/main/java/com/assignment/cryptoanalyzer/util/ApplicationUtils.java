@@ -9,6 +9,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +24,10 @@ public class ApplicationUtils {
        return readFromCSVFile(fileName);
     }
 
+    public static Path getFilePath(String fileName) {
+        return getFile(fileName).toPath();
+    }
+
     private static List<List<String>> readFromCSVFile(String filePath) {
         File file = getFile(filePath);
         try (BufferedReader reader = Files.newBufferedReader(Paths.get(file.getPath()))) {
@@ -0,0 +1,114 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.model.TickBatch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads a price file by memory-mapping it and parsing newline-aligned segments in parallel.
+ *
+ * <p>The file is cut into roughly equal segments whose boundaries are moved forward to the next
+ * {@code '\n'}, so no line is split between two segments. Every segment is mapped with
+ * {@link FileChannel#map} and parsed by its own {@link PriceCsvParser} on the given fork-join pool.
+ * The resulting batches are returned in segment order, i.e. in file order, so callers can append
+ * them to the per-symbol series exactly as a sequential read would.
+ *
+ * <p>Segments are also capped in size, which keeps every mapping below the 2 GB limit of a
+ * single {@link MappedByteBuffer}.
+ */
+public final class MappedCsvReader {
+
+    private static final long MIN_SEGMENT_SIZE = 4L * 1024 * 1024;
+    private static final long MAX_SEGMENT_SIZE = 256L * 1024 * 1024;
+    private static final int BOUNDARY_SCAN_SIZE = 4 * 1024;
+
+    private MappedCsvReader() {
+    }
+
+    /**
+     * Parses {@code file} and returns its rows as batches of at most {@code batchSize} ticks, in file order.
+     */
+    public static List<TickBatch> read(Path file, Collection<String> supportedCurrencies, int batchSize,
+                                       ForkJoinPool pool) throws IOException {
+        return read(file, supportedCurrencies, batchSize, pool, 0);
+    }
+
+    static List<TickBatch> read(Path file, Collection<String> supportedCurrencies, int batchSize,
+                                ForkJoinPool pool, long segmentSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (segmentSize <= 0) {
+                segmentSize = segmentSize(channel.size(), pool.getParallelism());
+            }
+            List<long[]> segments = split(channel, segmentSize);
+            List<ForkJoinTask<List<TickBatch>>> tasks = new ArrayList<>(segments.size());
+            for (int i = 0; i < segments.size(); i++) {
+                long[] segment = segments.get(i);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, segment[0], segment[1] - segment[0]);
+                boolean headerAllowed = i == 0;
+                tasks.add(pool.submit(() -> parseSegment(buffer, supportedCurrencies, batchSize, headerAllowed)));
+            }
+
+            List<TickBatch> batches = new ArrayList<>();
+            for (ForkJoinTask<List<TickBatch>> task : tasks) {
+                batches.addAll(task.join());
+            }
+            return batches;
+        }
+    }
+
+    private static List<TickBatch> parseSegment(ByteBuffer segment, Collection<String> supportedCurrencies,
+                                                int batchSize, boolean headerAllowed) {
+        List<TickBatch> batches = new ArrayList<>();
+        new PriceCsvParser(supportedCurrencies).parse(segment, batchSize, batches::add, headerAllowed);
+        return batches;
+    }
+
+    /**
+     * Returns {@code [start, end)} byte ranges covering the whole file, each ending right after a
+     * line terminator or at the end of the file.
+     */
+    static List<long[]> split(FileChannel channel, long segmentSize) throws IOException {
+        long size = channel.size();
+        List<long[]> segments = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + segmentSize >= size ? size : nextLineStart(channel, start + segmentSize, size);
+            segments.add(new long[]{start, end});
+            start = end;
+        }
+        return segments;
+    }
+
+    private static long segmentSize(long fileSize, int parallelism) {
+        long segmentSize = Math.max(MIN_SEGMENT_SIZE, fileSize / Math.max(1, parallelism * 4L));
+        return Math.min(segmentSize, MAX_SEGMENT_SIZE);
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,194 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.config.auto.GeneratorProp;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Generates synthetic tick streams for load, scale and soak testing.
+ *
+ * <p>Every currency follows a geometric random walk whose volatility switches between a calm and a
+ * turbulent regime (a two-state Markov chain evaluated per tick), so the series show the quiet stretches
+ * and bursts of real markets. Initial prices are log-uniformly distributed between
+ * {@link GeneratorProp#getMinInitialPrice()} and {@link GeneratorProp#getMaxInitialPrice()}.
+ *
+ * <p>Ticks of all currencies are emitted in timestamp order, interleaved like a live feed. The gaps between
+ * the ticks of a currency are exponentially distributed with mean {@code 1 / ticksPerSecond} (a Poisson
+ * process) or constant, and never shorter than one millisecond, so timestamps are unique per currency as
+ * the database requires. Generation stops at {@code start + duration}.
+ *
+ * <p>Memory does not depend on the number of generated ticks: the state is a handful of primitives per
+ * currency and one batch of {@link GeneratorProp#getBatchSize()} ticks, which is handed to the consumer
+ * and then replaced, so the consumer may keep it. Each currency draws from its own random stream split off
+ * the seed, which makes the output reproducible.
+ */
+public final class MarketDataGenerator {
+
+    private static final double MIN_PRICE = 1.0 / FixedPointPrice.FACTOR;
+    // Largest whole price with the 10 integer digits of the DECIMAL(18, 8) column, see FixedPointPrice#isStorable.
+    private static final double MAX_PRICE = 9_999_999_999.0;
+
+    private final List<String> symbols;
+    private final GeneratorProp prop;
+    private final long startMillis;
+    private final long endMillis;
+    private final double meanGapMillis;
+
+    public MarketDataGenerator(GeneratorProp prop) {
+        this(prop, List.of());
+    }
+
+    public MarketDataGenerator(GeneratorProp prop, List<String> defaultSymbols) {
+        if (prop.getTicksPerSecond() <= 0 || prop.getTicksPerSecond() > 1_000) {
+            throw new IllegalArgumentException("Ticks per second must be greater than 0 and at most 1000");
+        }
+        if (prop.getDuration().isNegative() || prop.getDuration().isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (prop.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (prop.getMinInitialPrice() <= 0 || prop.getMinInitialPrice() > prop.getMaxInitialPrice()) {
+            throw new IllegalArgumentException("Initial prices must be positive and min must not exceed max");
+        }
+        if (prop.getMaxInitialPrice() > MAX_PRICE) {
+            throw new IllegalArgumentException("Initial prices must have at most 10 integer digits");
+        }
+        this.symbols = symbols(prop, defaultSymbols);
+        if (symbols.isEmpty()) {
+            throw new IllegalArgumentException("At least one currency code must be generated");
+        }
+        this.prop = prop;
+        this.startMillis = prop.getStart().toEpochMilli();
+        this.endMillis = Math.addExact(startMillis, prop.getDuration().toMillis());
+        this.meanGapMillis = 1_000 / prop.getTicksPerSecond();
+    }
+
+    /**
+     * Returns the configured currency codes, or {@code symbolCount} made-up ones, or else {@code defaultSymbols}.
+     */
+    public static List<String> symbols(GeneratorProp prop, List<String> defaultSymbols) {
+        if (prop.getSymbols() != null && !prop.getSymbols().isEmpty()) {
+            return List.copyOf(prop.getSymbols());
+        }
+        if (prop.getSymbolCount() == null) {
+            return defaultSymbols == null ? List.of() : List.copyOf(defaultSymbols);
+        }
+        List<String> symbols = new ArrayList<>(Math.max(0, prop.getSymbolCount()));
+        for (int i = 1; i <= prop.getSymbolCount(); i++) {
+            symbols.add(String.format("S%04d", i));
+        }
+        return symbols;
+    }
+
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns the expected number of generated ticks; with Poisson arrivals the actual number varies around it.
+     */
+    public long expectedTicks() {
+        return (long) Math.ceil((endMillis - startMillis) / meanGapMillis) * symbols.size();
+    }
+
+    /**
+     * Generates all ticks, passing full batches and the final partial one to {@code sink}.
+     *
+     * @return number of generated ticks
+     */
+    public long generate(Consumer<TickBatch> sink) {
+        int count = symbols.size();
+        SplittableRandom seed = new SplittableRandom(prop.getSeed());
+        SplittableRandom[] randoms = new SplittableRandom[count];
+        double[] prices = new double[count];
+        boolean[] turbulent = new boolean[count];
+        long[] nextTimestamps = new long[count];
+        double logMin = Math.log(prop.getMinInitialPrice());
+        double logMax = Math.log(prop.getMaxInitialPrice());
+        for (int i = 0; i < count; i++) {
+            randoms[i] = seed.split();
+            prices[i] = Math.exp(logMin + randoms[i].nextDouble() * (logMax - logMin));
+            nextTimestamps[i] = startMillis + (prop.isPoissonArrivals() ? gap(randoms[i]) - 1 : 0);
+        }
+        int[] heap = new int[count];
+        for (int i = 0; i < count; i++) {
+            heap[i] = i;
+        }
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            siftDown(heap, nextTimestamps, i);
+        }
+
+        TickBatch batch = new TickBatch(prop.getBatchSize());
+        long generated = 0;
+        while (nextTimestamps[heap[0]] < endMillis) {
+            int symbol = heap[0];
+            SplittableRandom random = randoms[symbol];
+            prices[symbol] = nextPrice(random, prices[symbol], turbulent, symbol);
+            batch.add(symbols.get(symbol), nextTimestamps[symbol], Math.round(prices[symbol] * FixedPointPrice.FACTOR));
+            if (batch.isFull()) {
+                sink.accept(batch);
+                batch = new TickBatch(prop.getBatchSize());
+            }
+            generated++;
+            nextTimestamps[symbol] += gap(random);
+            siftDown(heap, nextTimestamps, 0);
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+        return generated;
+    }
+
+    /**
+     * Switches the regime of {@code symbol} with the configured probabilities and takes one step of the
+     * walk. The step is a log-normal return with zero mean, so prices do not drift on average.
+     */
+    private double nextPrice(SplittableRandom random, double price, boolean[] turbulent, int symbol) {
+        double switchDraw = random.nextDouble();
+        if (turbulent[symbol] ? switchDraw < prop.getCalmDownProbability() : switchDraw < prop.getTurbulenceProbability()) {
+            turbulent[symbol] = !turbulent[symbol];
+        }
+        double volatility = turbulent[symbol] ? prop.getTurbulentVolatility() : prop.getCalmVolatility();
+        double next = price * Math.exp(volatility * random.nextGaussian() - volatility * volatility / 2);
+        return Math.min(MAX_PRICE, Math.max(MIN_PRICE, next));
+    }
+
+    private long gap(SplittableRandom random) {
+        double gap = prop.isPoissonArrivals() ? random.nextExponential() * meanGapMillis : meanGapMillis;
+        return Math.max(1, Math.round(gap));
+    }
+
+    /**
+     * Restores the min-heap order of currencies by next timestamp, ties broken by currency index.
+     */
+    private static void siftDown(int[] heap, long[] nextTimestamps, int index) {
+        int size = heap.length;
+        int item = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap[child + 1], heap[child], nextTimestamps)) {
+                child++;
+            }
+            if (!before(heap[child], item, nextTimestamps)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    private static boolean before(int first, int second, long[] nextTimestamps) {
+        return nextTimestamps[first] < nextTimestamps[second]
+                || nextTimestamps[first] == nextTimestamps[second] && first < second;
+    }
+}
@@ -0,0 +1,68 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.config.auto.GeneratorProp;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point writing generated ticks to a file without starting the application.
+ *
+ * <p>Accepts the {@code generator.*} properties of {@link GeneratorProp} as {@code --name=value} arguments,
+ * with the same relaxed names and value formats as {@code application.yml}, e.g.
+ * <pre>
+ * java -cp crypto-analyzer-0.0.1-SNAPSHOT-exec.jar \
+ *      -Dloader.main=com.assignment.cryptoanalyzer.util.MarketDataGeneratorCli \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --generator.output=csv --generator.file=ticks.csv --generator.symbol-count=100 --generator.duration=30d
+ * </pre>
+ * Properties missing from the arguments are taken from the packaged {@code application.yml}; in particular,
+ * without {@code generator.symbols} or {@code generator.symbol-count} the configured
+ * {@code currencies.currency-code} are generated.
+ * The {@code INGEST} output needs the running application (see {@code generator.enabled}), so here it is
+ * replaced by {@code CSV} for {@code .csv} files and by {@code BINARY} otherwise.
+ */
+public final class MarketDataGeneratorCli {
+
+    private MarketDataGeneratorCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<PropertySource<?>> sources = new ArrayList<>();
+        sources.add(new SimpleCommandLinePropertySource(args));
+        ClassPathResource applicationYml = new ClassPathResource("application.yml");
+        if (applicationYml.exists()) {
+            sources.addAll(new YamlPropertySourceLoader().load("application.yml", applicationYml));
+        }
+        Binder binder = new Binder(ConfigurationPropertySources.from(sources));
+        GeneratorProp prop = binder.bind("generator", GeneratorProp.class).orElseGet(GeneratorProp::new);
+        List<String> currencies = binder.bind("currencies", ApplicationProp.class)
+                .map(ApplicationProp::getCurrencyCode)
+                .orElseGet(List::of);
+        if (prop.getOutput() == GeneratorProp.Output.INGEST) {
+            prop.setOutput(prop.getFile().endsWith(".csv") ? GeneratorProp.Output.CSV : GeneratorProp.Output.BINARY);
+        }
+        MarketDataGenerator generator = new MarketDataGenerator(prop, currencies);
+        Path file = Paths.get(prop.getFile());
+        System.out.printf("Generating about %d ticks of %d currencies into %s%n", generator.expectedTicks(),
+                generator.getSymbols().size(), file.toAbsolutePath());
+        long startedAt = System.nanoTime();
+        long generated;
+        try (TickFileWriter writer = prop.getOutput() == GeneratorProp.Output.CSV
+                ? TickFileWriter.csv(file) : TickFileWriter.binary(file)) {
+            generated = generator.generate(writer);
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        System.out.printf("Generated %d ticks in %d ms%n", generated, elapsedMillis);
+    }
+}
@@ -0,0 +1,318 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.model.CsvReadResult;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Allocation-free parser for price files in the {@code timestamp,symbol,price} format.
+ *
+ * <p>The parser works directly on a byte buffer filled from the input stream or from a mapped file
+ * segment (see {@link MappedCsvReader}). Timestamps are parsed
+ * into {@code long} values, prices into fixed-point {@code long} values (see {@link FixedPointPrice})
+ * without passing through {@code double}, and currency codes are resolved against a table of supported
+ * codes by comparing bytes, so no {@code String} or boxed value is created per row.
+ *
+ * <p>Rules:
+ * <ul>
+ *     <li>A leading line that cannot be parsed is treated as a header and skipped.</li>
+ *     <li>Empty lines are skipped; {@code \r\n} line endings are accepted.</li>
+ *     <li>Rows with a wrong number of columns, non-numeric values or an unsupported currency code
+ *     are counted as rejected.</li>
+ * </ul>
+ *
+ * <p>Instances are cheap and not thread-safe; create one per stream or segment.
+ */
+public final class PriceCsvParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final int MAX_DIGITS = 18;
+
+    private final SymbolTable symbols;
+
+    private TickBatch batch;
+    private int batchSize;
+    private Consumer<TickBatch> batchConsumer;
+    private boolean firstLine;
+    private long accepted;
+    private long rejected;
+    private long batches;
+
+    public PriceCsvParser(Collection<String> supportedCurrencies) {
+        this.symbols = new SymbolTable(supportedCurrencies);
+    }
+
+    /**
+     * Parses the whole stream, passing full batches of at most {@code batchSize} ticks to
+     * {@code batchConsumer}. Ownership of a batch moves to the consumer.
+     */
+    public CsvReadResult parse(InputStream inputStream, int batchSize, Consumer<TickBatch> batchConsumer) throws IOException {
+        return parse(inputStream::read, batchSize, batchConsumer, true);
+    }
+
+    /**
+     * Parses the remaining bytes of {@code segment}, e.g. a newline-aligned part of a memory-mapped file.
+     * Only the first segment of a file may start with a header, so {@code headerAllowed} must be
+     * {@code false} for all others.
+     */
+    public CsvReadResult parse(ByteBuffer segment, int batchSize, Consumer<TickBatch> batchConsumer, boolean headerAllowed) {
+        try {
+            return parse((buffer, offset, length) -> {
+                if (!segment.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(length, segment.remaining());
+                segment.get(buffer, offset, count);
+                return count;
+            }, batchSize, batchConsumer, headerAllowed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CsvReadResult parse(ByteSource source, int batchSize, Consumer<TickBatch> batchConsumer,
+                                boolean headerAllowed) throws IOException {
+        this.batchSize = batchSize;
+        this.batchConsumer = batchConsumer;
+        this.batch = new TickBatch(batchSize);
+        this.firstLine = headerAllowed;
+        this.accepted = 0;
+        this.rejected = 0;
+        this.batches = 0;
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length = 0;
+        int scanned = 0;
+        int read;
+        while ((read = source.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            int lineStart = 0;
+            for (int i = scanned; i < length; i++) {
+                if (buffer[i] == '\n') {
+                    parseLine(buffer, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            System.arraycopy(buffer, lineStart, buffer, 0, length - lineStart);
+            length -= lineStart;
+            scanned = length;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        if (length > 0) {
+            parseLine(buffer, 0, length);
+        }
+        flush();
+        return new CsvReadResult(accepted, rejected, batches);
+    }
+
+    /**
+     * Parses the bytes {@code [from, to)} as one line, without the line terminator.
+     */
+    void parseLine(byte[] buffer, int from, int to) {
+        if (to > from && buffer[to - 1] == '\r') {
+            to--;
+        }
+        if (to == from) {
+            return;
+        }
+        boolean header = firstLine;
+        firstLine = false;
+
+        int firstComma = indexOf(buffer, from, to, (byte) ',');
+        int secondComma = firstComma < 0 ? -1 : indexOf(buffer, firstComma + 1, to, (byte) ',');
+        if (secondComma < 0 || indexOf(buffer, secondComma + 1, to, (byte) ',') >= 0) {
+            reject(header);
+            return;
+        }
+        long timestamp = parseLong(buffer, from, firstComma);
+        long price = parseScaledPrice(buffer, secondComma + 1, to);
+        if (timestamp == INVALID || price == INVALID) {
+            reject(header);
+            return;
+        }
+        String currencyCode = symbols.lookup(buffer, firstComma + 1, secondComma);
+        if (currencyCode == null) {
+            rejected++;
+            return;
+        }
+
+        batch.add(currencyCode, timestamp, price);
+        if (batch.isFull()) {
+            flush();
+        }
+    }
+
+    private void reject(boolean header) {
+        if (!header) {
+            rejected++;
+        }
+    }
+
+    private void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        TickBatch full = batch;
+        batch = new TickBatch(batchSize);
+        accepted += full.size();
+        batches++;
+        batchConsumer.accept(full);
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static long parseLong(byte[] buffer, int from, int to) {
+        from = skipSpaces(buffer, from, to);
+        to = trimSpaces(buffer, from, to);
+        if (from == to || to - from > MAX_DIGITS) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a plain decimal number into a value scaled by {@code 10^FixedPointPrice.SCALE}, rounding
+     * half-up on the first dropped digit.
+     */
+    static long parseScaledPrice(byte[] buffer, int from, int to) {
+        from = skipSpaces(buffer, from, to);
+        to = trimSpaces(buffer, from, to);
+        boolean negative = false;
+        if (from < to && (buffer[from] == '-' || buffer[from] == '+')) {
+            negative = buffer[from] == '-';
+            from++;
+        }
+        long value = 0;
+        int integerDigits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean roundUp = false;
+        for (int i = from; i < to; i++) {
+            byte current = buffer[i];
+            if (current == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            int digit = current - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            if (!fraction) {
+                if (++integerDigits > MAX_DIGITS - FixedPointPrice.SCALE) {
+                    return INVALID;
+                }
+                value = value * 10 + digit;
+            } else if (fractionDigits < FixedPointPrice.SCALE) {
+                value = value * 10 + digit;
+                fractionDigits++;
+            } else if (fractionDigits == FixedPointPrice.SCALE) {
+                roundUp = digit >= 5;
+                fractionDigits++;
+            }
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            return INVALID;
+        }
+        for (int i = Math.min(fractionDigits, FixedPointPrice.SCALE); i < FixedPointPrice.SCALE; i++) {
+            value *= 10;
+        }
+        if (roundUp) {
+            value++;
+        }
+        return negative ? -value : value;
+    }
+
+    private static int skipSpaces(byte[] buffer, int from, int to) {
+        while (from < to && buffer[from] == ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimSpaces(byte[] buffer, int from, int to) {
+        while (to > from && buffer[to - 1] == ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    @FunctionalInterface
+    private interface ByteSource {
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    /**
+     * Open-addressing table resolving currency code bytes to the shared {@code String} instance
+     * without allocating.
+     */
+    private static final class SymbolTable {
+
+        private final byte[][] keys;
+        private final String[] values;
+        private final int mask;
+
+        SymbolTable(Collection<String> codes) {
+            int capacity = Integer.highestOneBit(Math.max(codes.size(), 1) * 4 - 1) << 1;
+            keys = new byte[capacity][];
+            values = new String[capacity];
+            mask = capacity - 1;
+            for (String code : codes) {
+                byte[] bytes = code.getBytes(StandardCharsets.US_ASCII);
+                int slot = hash(bytes, 0, bytes.length) & mask;
+                while (keys[slot] != null && !Arrays.equals(keys[slot], bytes)) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = bytes;
+                values[slot] = code;
+            }
+        }
+
+        String lookup(byte[] buffer, int from, int to) {
+            from = skipSpaces(buffer, from, to);
+            to = trimSpaces(buffer, from, to);
+            int slot = hash(buffer, from, to) & mask;
+            while (keys[slot] != null) {
+                if (Arrays.equals(keys[slot], 0, keys[slot].length, buffer, from, to)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static int hash(byte[] buffer, int from, int to) {
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buffer[i];
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.model.TickBatch;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Binary layout of a sequence of tick batches, used by the write-behind spill file and by generated
+ * binary tick files.
+ *
+ * <p>Every batch is written as its tick count ({@code int}) followed by one record per tick: the length
+ * of the ASCII currency code ({@code byte}), the code, the epoch-millis timestamp ({@code long}) and the
+ * fixed-point price ({@code long}). Batches are appended back to back; the file has no header, so
+ * batches can be appended to an existing file and a truncated last batch is simply ignored.
+ */
+public final class TickBatchFile {
+
+    private TickBatchFile() {
+    }
+
+    public static DataInputStream open(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    }
+
+    public static void write(DataOutputStream out, TickBatch batch) throws IOException {
+        out.writeInt(batch.size());
+        long[] timestamps = batch.getTimestamps();
+        long[] prices = batch.getPrices();
+        for (int i = 0; i < batch.size(); i++) {
+            byte[] code = batch.currencyCodeAt(i).getBytes(StandardCharsets.US_ASCII);
+            out.writeByte(code.length);
+            out.write(code);
+            out.writeLong(timestamps[i]);
+            out.writeLong(prices[i]);
+        }
+    }
+
+    /**
+     * Reads the next batch, or returns {@code null} at the end of the file or at a truncated record.
+     */
+    public static TickBatch read(DataInputStream in) throws IOException {
+        try {
+            int count = in.readInt();
+            TickBatch batch = new TickBatch(count);
+            for (int i = 0; i < count; i++) {
+                byte[] code = new byte[in.readUnsignedByte()];
+                in.readFully(code);
+                batch.add(new String(code, StandardCharsets.US_ASCII).intern(), in.readLong(), in.readLong());
+            }
+            return batch;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Writes tick batches to a file, either as CSV in the {@code timestamp,symbol,price} layout read by
+ * {@link PriceCsvParser} or in the binary layout of {@link TickBatchFile}.
+ *
+ * <p>Rows are formatted straight into a byte buffer: timestamps as decimal digits and fixed-point prices
+ * with at most {@link FixedPointPrice#SCALE} fraction digits, so no {@code String} or {@code BigDecimal}
+ * is created per tick and files with billions of rows can be written at disk speed. I/O errors are
+ * rethrown as {@link UncheckedIOException}, because the writer is used as a batch consumer.
+ */
+public final class TickFileWriter implements Consumer<TickBatch>, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte[] CSV_HEADER = "timestamp,symbol,price\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final DataOutputStream binary;
+    private final Map<String, byte[]> codes = new HashMap<>();
+    private final byte[] line = new byte[256];
+    private long ticks;
+
+    private TickFileWriter(OutputStream out, boolean binary) {
+        this.out = out;
+        this.binary = binary ? new DataOutputStream(out) : null;
+    }
+
+    public static TickFileWriter csv(Path file) throws IOException {
+        TickFileWriter writer = new TickFileWriter(open(file), false);
+        writer.out.write(CSV_HEADER);
+        return writer;
+    }
+
+    public static TickFileWriter binary(Path file) throws IOException {
+        return new TickFileWriter(open(file), true);
+    }
+
+    @Override
+    public void accept(TickBatch batch) {
+        try {
+            if (binary != null) {
+                TickBatchFile.write(binary, batch);
+            } else {
+                writeCsv(batch);
+            }
+            ticks += batch.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of ticks written so far.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeCsv(TickBatch batch) throws IOException {
+        long[] timestamps = batch.getTimestamps();
+        long[] prices = batch.getPrices();
+        for (int i = 0; i < batch.size(); i++) {
+            int length = writeLong(line, 0, timestamps[i]);
+            line[length++] = ',';
+            byte[] code = codes.computeIfAbsent(batch.currencyCodeAt(i), c -> c.getBytes(StandardCharsets.US_ASCII));
+            System.arraycopy(code, 0, line, length, code.length);
+            length += code.length;
+            line[length++] = ',';
+            length = writePrice(line, length, prices[i]);
+            line[length++] = '\n';
+            out.write(line, 0, length);
+        }
+    }
+
+    /**
+     * Writes a fixed-point price without trailing zeros in its fraction, e.g. {@code 46813.21}.
+     */
+    private static int writePrice(byte[] buffer, int offset, long price) {
+        if (price < 0) {
+            buffer[offset++] = '-';
+            price = -price;
+        }
+        offset = writeLong(buffer, offset, price / FixedPointPrice.FACTOR);
+        long fraction = price % FixedPointPrice.FACTOR;
+        if (fraction == 0) {
+            return offset;
+        }
+        buffer[offset++] = '.';
+        int digits = FixedPointPrice.SCALE;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        return offset + digits;
+    }
+
+    /**
+     * Writes a non-negative {@code long} as decimal digits.
+     */
+    private static int writeLong(byte[] buffer, int offset, long value) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + digits;
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+    }
+}
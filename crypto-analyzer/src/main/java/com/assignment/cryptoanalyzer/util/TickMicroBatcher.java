@@ -0,0 +1,235 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.exceptions.IngestBackpressureException;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Coalesces ticks from many concurrent requests into micro-batches and writes them on a single
+ * background thread.
+ *
+ * <p>A micro-batch is handed to the sink when it reaches {@code batchSize} ticks or when it has been
+ * open for {@code flushIntervalMillis}, whichever comes first. Because there is one writer thread,
+ * batches reach the sink in submission order.
+ *
+ * <p>Backpressure: every submitted tick holds a permit until the batch containing it has been
+ * written, so at most {@code maxPendingTicks} ticks wait in memory. {@link #submit(TickBatch, long)}
+ * waits up to the given time for permits and throws {@link IngestBackpressureException} if the writer
+ * does not catch up.
+ *
+ * <p>Failures: the ticks were already acknowledged to the client, so a batch the sink fails to take with a
+ * {@code retryable} exception is retried with a linearly growing backoff, capped at
+ * {@value #MAX_RETRY_BACKOFF_MILLIS} ms, until it is written. Its permits stay held meanwhile, so new ticks
+ * are refused once the pending ticks reach the limit and the failure reaches clients as backpressure instead
+ * of silent data loss. A batch failing with any other exception would fail again on every attempt and block
+ * all later ticks, so it is dropped at once and logged. A batch that still fails when the
+ * batcher is closed is dropped and logged as well.
+ */
+public final class TickMicroBatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TickMicroBatcher.class);
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxPendingTicks;
+    private final long retryBackoffMillis;
+    private final Predicate<RuntimeException> retryable;
+    private final Consumer<TickBatch> sink;
+
+    private final Semaphore permits;
+    private final BlockingQueue<TickBatch> queue = new LinkedBlockingQueue<>();
+    private final LongAdder flushedBatches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final Thread writer;
+
+    private TickBatch current;
+    private long currentOpenedAt;
+    private boolean running = true;
+
+    public TickMicroBatcher(int batchSize, long flushIntervalMillis, int maxPendingTicks, long retryBackoffMillis,
+                            Predicate<RuntimeException> retryable, Consumer<TickBatch> sink) {
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.maxPendingTicks = Math.max(this.batchSize, maxPendingTicks);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.retryable = retryable;
+        this.sink = sink;
+        this.permits = new Semaphore(this.maxPendingTicks);
+        this.current = new TickBatch(this.batchSize);
+        this.writer = new Thread(this::writeLoop, "tick-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues all ticks of {@code ticks}, waiting at most {@code waitMillis} for room.
+     *
+     * @throws IngestBackpressureException if the ticks do not fit in time; nothing is queued then
+     */
+    public void submit(TickBatch ticks, long waitMillis) {
+        int count = ticks.size();
+        if (count == 0) {
+            return;
+        }
+        if (count > maxPendingTicks) {
+            throw new IllegalArgumentException("At most " + maxPendingTicks + " ticks can be sent at once");
+        }
+        if (!acquire(count, waitMillis)) {
+            throw new IngestBackpressureException("Ingest queue is full, " + pendingTicks() + " ticks are waiting to be written");
+        }
+        synchronized (this) {
+            if (!running) {
+                permits.release(count);
+                throw new IngestBackpressureException("Ingest is shutting down");
+            }
+            long[] timestamps = ticks.getTimestamps();
+            long[] prices = ticks.getPrices();
+            for (int i = 0; i < count; i++) {
+                if (current.isEmpty()) {
+                    currentOpenedAt = System.nanoTime();
+                }
+                current.add(ticks.currencyCodeAt(i), timestamps[i], prices[i]);
+                if (current.isFull()) {
+                    handOff();
+                }
+            }
+        }
+    }
+
+    public long pendingTicks() {
+        return maxPendingTicks - permits.availablePermits();
+    }
+
+    public long getFlushedBatches() {
+        return flushedBatches.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * Returns the number of batches dropped because they failed with an exception that is not retryable or
+     * still failed when the batcher was closed.
+     */
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    /**
+     * Stops accepting ticks, writes everything that is pending and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            running = false;
+            handOff();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean acquire(int count, long waitMillis) {
+        try {
+            return waitMillis <= 0 ? permits.tryAcquire(count) : permits.tryAcquire(count, waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void handOff() {
+        if (!current.isEmpty()) {
+            queue.add(current);
+            current = new TickBatch(batchSize);
+        }
+    }
+
+    private synchronized void handOffIfExpired() {
+        if (!current.isEmpty() && System.nanoTime() - currentOpenedAt >= flushIntervalNanos) {
+            handOff();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            TickBatch batch;
+            try {
+                batch = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch != null) {
+                write(batch);
+            }
+            synchronized (this) {
+                if (!running && queue.isEmpty()) {
+                    return;
+                }
+            }
+            handOffIfExpired();
+        }
+    }
+
+    private void write(TickBatch batch) {
+        try {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    sink.accept(batch);
+                    flushedBatches.increment();
+                    return;
+                } catch (RuntimeException e) {
+                    if (!retryable.test(e)) {
+                        failedBatches.increment();
+                        logger.error("Dropping a batch of {} ticks that cannot be written: {}", batch.size(), e.getMessage(), e);
+                        return;
+                    }
+                    if (!isRunning() && attempt > 0) {
+                        failedBatches.increment();
+                        logger.error("Dropping a batch of {} ticks on shutdown after {} attempts: {}", batch.size(), attempt + 1, e.getMessage(), e);
+                        return;
+                    }
+                    long backoff = Math.min(retryBackoffMillis * (attempt + 1), MAX_RETRY_BACKOFF_MILLIS);
+                    logger.warn("Failed to write a batch of {} ticks, retrying in {} ms: {}", batch.size(), backoff, e.getMessage());
+                    retries.increment();
+                    if (!sleep(backoff)) {
+                        failedBatches.increment();
+                        logger.error("Interrupted while retrying, a batch of {} ticks is lost", batch.size());
+                        return;
+                    }
+                }
+            }
+        } finally {
+            permits.release(batch.size());
+        }
+    }
+
+    private synchronized boolean isRunning() {
+        return running;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.exceptions.IngestBackpressureException;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded write-behind queue between the cache and the database.
+ *
+ * <p>Batches are queued by {@link #enqueue(TickBatch, long)} before the cache is updated, so a batch refused
+ * for lack of room never reaches the cache, and are written by a single background thread, so database
+ * latency no longer adds to ingest latency. Between the two steps a queued tick is not yet visible in the
+ * cache; series loaded meanwhile take it from {@link #pendingTicks(String)}.
+ *
+ * <p>Failure handling:
+ * <ul>
+ *     <li>A failed write is retried up to {@code maxRetries} times with a linearly growing backoff.</li>
+ *     <li>A batch that still fails is appended to a local spill file ({@link TickBatchFile}) and synced to disk, so a database
+ *     outage neither blocks the queue nor loses ticks. The spill file is replayed, oldest batch first,
+ *     once the database accepts writes again; batches that fail during the replay stay in the file.</li>
+ *     <li>A replay reads the spill file from a {@code .replay} sibling, so new batches can be spilled meanwhile.
+ *     A replay file left behind by a crash or a failed replay is put back in front of the spill file on
+ *     startup and before the next replay, and is never overwritten. Its batches that were already written
+ *     are written again; the unique key of the table skips them.</li>
+ * </ul>
+ *
+ * <p>The queue holds at most {@code capacity} ticks; {@link #enqueue(TickBatch, long)} waits for room
+ * and throws {@link IngestBackpressureException} if none becomes free in time. Queue depth, lag (age of
+ * the oldest unwritten batch), written and retried ticks and the spill file size are exposed through getters.
+ *
+ * <p>Unwritten ticks are counted per currency, separately for queued and spilled ones, so
+ * {@link #hasPendingTicks(String)} answers from memory. The spill files are read only on startup, for a replay,
+ * and by {@link #pendingTicks(String)} for currencies that have spilled ticks.
+ */
+public final class WriteBehindQueue implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindQueue.class);
+    private static final long IDLE_POLL_MILLIS = 1_000;
+
+    private final Consumer<TickBatch> sink;
+    private final int capacity;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final Path spillFile;
+    private final Path replayFile;
+
+    private final Semaphore permits;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final LongAdder writtenTicks = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder spilledTicks = new LongAdder();
+    private final Map<String, LongAdder> queuedByCurrency = new ConcurrentHashMap<>();
+    private final Thread writer;
+
+    private volatile Map<String, LongAdder> spilledByCurrency = new ConcurrentHashMap<>();
+
+    private volatile Pending inFlight;
+    private volatile boolean running = true;
+
+    public WriteBehindQueue(Consumer<TickBatch> sink, int capacity, int maxRetries, long retryBackoffMillis, Path spillFile) {
+        this.sink = sink;
+        this.capacity = Math.max(1, capacity);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.spillFile = spillFile;
+        this.replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        this.permits = new Semaphore(this.capacity);
+        recoverReplayFile();
+        recountSpilled();
+        this.writer = new Thread(this::writeLoop, "write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues {@code batch} for writing, waiting at most {@code waitMillis} for room.
+     */
+    public void enqueue(TickBatch batch, long waitMillis) {
+        int count = Math.min(batch.size(), capacity);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (!running || !permits.tryAcquire(count, waitMillis, TimeUnit.MILLISECONDS)) {
+                throw new IngestBackpressureException("Write-behind queue is full, " + getQueuedTicks() + " ticks are waiting to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestBackpressureException("Interrupted while waiting for the write-behind queue");
+        }
+        addCounts(queuedByCurrency, batch, 1);
+        queue.add(new Pending(batch, count, System.currentTimeMillis()));
+    }
+
+    /**
+     * Returns whether {@code currencyCode} has ticks that are accepted but possibly not in the database yet,
+     * without reading the spill file.
+     */
+    public boolean hasPendingTicks(String currencyCode) {
+        return count(queuedByCurrency, currencyCode) > 0 || count(spilledByCurrency, currencyCode) > 0;
+    }
+
+    /**
+     * Returns the ticks of {@code currencyCode} that are accepted but possibly not in the database yet:
+     * queued, being written or spilled. The sources are read in the order a batch moves through them,
+     * so a batch that moves on during the call is still seen once; it may be seen twice. A batch is counted
+     * as spilled before it stops being in flight, so the spill file is read only when it holds ticks of the
+     * currency.
+     */
+    public TickBatch pendingTicks(String currencyCode) {
+        List<TickBatch> result = new ArrayList<>();
+        for (Pending pending : queue) {
+            result.add(pending.batch.filter(currencyCode));
+        }
+        Pending current = inFlight;
+        if (current != null) {
+            result.add(current.batch.filter(currencyCode));
+        }
+        if (count(spilledByCurrency, currencyCode) > 0) {
+            synchronized (spillFile) {
+                forEachSpilled(batch -> result.add(batch.filter(currencyCode)));
+            }
+        }
+        return TickBatch.concat(result);
+    }
+
+    public long getQueuedTicks() {
+        return capacity - permits.availablePermits();
+    }
+
+    /**
+     * Returns the age of the oldest batch that is queued or being written, in milliseconds.
+     */
+    public long getLagMillis() {
+        Pending oldest = inFlight;
+        if (oldest == null) {
+            oldest = queue.peek();
+        }
+        return oldest == null ? 0 : System.currentTimeMillis() - oldest.enqueuedAt;
+    }
+
+    public long getWrittenTicks() {
+        return writtenTicks.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * Returns the number of ticks currently kept in the spill file.
+     */
+    public long getSpilledTicks() {
+        return spilledTicks.sum();
+    }
+
+    /**
+     * Stops accepting batches and waits until the queued ones are written or spilled.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        while (running || !queue.isEmpty()) {
+            Pending pending;
+            try {
+                pending = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (pending == null) {
+                replaySpill();
+                continue;
+            }
+            inFlight = pending;
+            try {
+                if (writeWithRetries(pending.batch)) {
+                    replaySpill();
+                } else {
+                    spill(pending.batch);
+                }
+            } finally {
+                inFlight = null;
+                addCounts(queuedByCurrency, pending.batch, -1);
+                permits.release(pending.permits);
+            }
+        }
+    }
+
+    private boolean writeWithRetries(TickBatch batch) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                sink.accept(batch);
+                writtenTicks.add(batch.size());
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries || (!running && attempt > 0)) {
+                    logger.error("Failed to write a batch of {} ticks after {} attempts: {}", batch.size(), attempt + 1, e.getMessage());
+                    return false;
+                }
+                retries.increment();
+                sleep(retryBackoffMillis * (attempt + 1));
+            }
+        }
+    }
+
+    private void spill(TickBatch batch) {
+        synchronized (spillFile) {
+            if (appendToSpillFile(batch)) {
+                spilledTicks.add(batch.size());
+                addCounts(spilledByCurrency, batch, 1);
+            }
+        }
+    }
+
+    private boolean appendToSpillFile(TickBatch batch) {
+        try {
+            Files.createDirectories(spillFile.toAbsolutePath().getParent());
+            try (OutputStream file = Files.newOutputStream(spillFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                TickBatchFile.write(out, batch);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to spill a batch of {} ticks to {}, the ticks are lost: {}", batch.size(), spillFile, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Records that the spilled {@code batch} left the spill file, because it was written or lost.
+     */
+    private void unspill(TickBatch batch) {
+        spilledTicks.add(-batch.size());
+        addCounts(spilledByCurrency, batch, -1);
+    }
+
+    /**
+     * Writes the spilled batches to the database once the oldest of them can be written again.
+     * Batches that fail during the replay are kept in the spill file.
+     */
+    private void replaySpill() {
+        synchronized (spillFile) {
+            if (!recoverReplayFile() || !Files.exists(spillFile) || !tryWriteFirstSpilled()) {
+                return;
+            }
+            try {
+                Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                try (DataInputStream in = TickBatchFile.open(replayFile)) {
+                    TickBatchFile.read(in);
+                    TickBatch batch;
+                    boolean healthy = true;
+                    while ((batch = TickBatchFile.read(in)) != null) {
+                        healthy = healthy && tryWrite(batch);
+                        // A batch moves back to the spill file without leaving the counts, so it never looks written.
+                        if (healthy || !appendToSpillFile(batch)) {
+                            unspill(batch);
+                        }
+                    }
+                }
+                Files.delete(replayFile);
+            } catch (IOException e) {
+                logger.error("Failed to replay spill file {}: {}", replayFile, e.getMessage());
+                recoverReplayFile();
+                recountSpilled();
+            }
+        }
+    }
+
+    /**
+     * Puts the batches of a leftover replay file back in front of the spill file, through a synced temporary
+     * file that replaces the spill file atomically, and deletes the replay file only afterwards.
+     *
+     * @return {@code true} when no replay file is left
+     */
+    private boolean recoverReplayFile() {
+        synchronized (spillFile) {
+            if (!Files.exists(replayFile)) {
+                return true;
+            }
+            Path merged = spillFile.resolveSibling(spillFile.getFileName() + ".merge");
+            try {
+                if (Files.exists(spillFile)) {
+                    try (OutputStream file = Files.newOutputStream(merged, StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+                         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                        copyBatches(replayFile, out);
+                        copyBatches(spillFile, out);
+                    }
+                    Files.move(merged, spillFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    Files.delete(replayFile);
+                } else {
+                    Files.move(replayFile, spillFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                logger.warn("Recovered replay file {} into spill file {}", replayFile, spillFile);
+                return true;
+            } catch (IOException e) {
+                logger.error("Failed to recover replay file {}, the spill file is not replayed until it is: {}",
+                        replayFile, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private static void copyBatches(Path source, DataOutputStream out) throws IOException {
+        try (DataInputStream in = TickBatchFile.open(source)) {
+            TickBatch batch;
+            while ((batch = TickBatchFile.read(in)) != null) {
+                TickBatchFile.write(out, batch);
+            }
+        }
+    }
+
+    private boolean tryWriteFirstSpilled() {
+        try (DataInputStream in = TickBatchFile.open(spillFile)) {
+            TickBatch first = TickBatchFile.read(in);
+            if (first == null || !tryWrite(first)) {
+                return false;
+            }
+            unspill(first);
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to read spill file {}: {}", spillFile, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Counts the spilled ticks again from the files, in total and per currency.
+     */
+    private void recountSpilled() {
+        Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+        long[] total = new long[1];
+        forEachSpilled(batch -> {
+            total[0] += batch.size();
+            addCounts(counts, batch, 1);
+        });
+        spilledByCurrency = counts;
+        spilledTicks.reset();
+        spilledTicks.add(total[0]);
+    }
+
+    private static void addCounts(Map<String, LongAdder> counts, TickBatch batch, int sign) {
+        Map<String, Long> batchCounts = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            batchCounts.merge(batch.currencyCodeAt(i), 1L, Long::sum);
+        }
+        batchCounts.forEach((currencyCode, count) ->
+                counts.computeIfAbsent(currencyCode, code -> new LongAdder()).add(sign * count));
+    }
+
+    private static long count(Map<String, LongAdder> counts, String currencyCode) {
+        LongAdder count = counts.get(currencyCode);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Hands every spilled batch to {@code action}, including those of a replay file that could not be recovered.
+     */
+    private void forEachSpilled(Consumer<TickBatch> action) {
+        for (Path file : List.of(replayFile, spillFile)) {
+            if (Files.exists(file)) {
+                try (DataInputStream in = TickBatchFile.open(file)) {
+                    TickBatch batch;
+                    while ((batch = TickBatchFile.read(in)) != null) {
+                        action.accept(batch);
+                    }
+                } catch (IOException e) {
+                    logger.warn("Spill file {} cannot be read: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean tryWrite(TickBatch batch) {
+        try {
+            sink.accept(batch);
+            writtenTicks.add(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Pending {
+
+        private final TickBatch batch;
+        private final int permits;
+        private final long enqueuedAt;
+
+        Pending(TickBatch batch, int permits, long enqueuedAt) {
+            this.batch = batch;
+            this.permits = permits;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Price ticks, one row per currency and timestamp (epoch millis).
+CREATE TABLE IF NOT EXISTS crypto_currency (
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    currency_code VARCHAR(10)    NOT NULL,
+    price         DECIMAL(18, 8) NOT NULL,
+    timestamp     BIGINT         NOT NULL
+);
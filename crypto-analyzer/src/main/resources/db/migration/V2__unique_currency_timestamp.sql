@@ -0,0 +1,14 @@
+-- Tables created by ddl-auto may contain duplicate ticks from re-uploaded files; the first stored row wins.
+DELETE newer
+FROM crypto_currency newer
+         JOIN crypto_currency older
+              ON older.currency_code = newer.currency_code
+                  AND older.timestamp = newer.timestamp
+                  AND older.id < newer.id;
+
+-- The unique key also serves as the composite index for per-currency lookups and time-range scans.
+ALTER TABLE crypto_currency
+    MODIFY currency_code VARCHAR(10) NOT NULL,
+    MODIFY price DECIMAL(18, 8) NOT NULL,
+    MODIFY timestamp BIGINT NOT NULL,
+    ADD CONSTRAINT uq_currency_timestamp UNIQUE (currency_code, timestamp);
@@ -0,0 +1,91 @@
+-- Optional: enabled by adding classpath:db/partitioning to spring.flyway.locations.
+--
+-- Range partitions by calendar month (UTC) of the tick timestamp. Time-range queries only touch the
+-- partitions of the requested months, and old months are removed without a DELETE scan:
+--   ALTER TABLE crypto_currency DROP PARTITION p2021_01;
+-- New months are split off the catch-all partition before it fills up:
+--   ALTER TABLE crypto_currency REORGANIZE PARTITION p_future INTO (
+--       PARTITION p2027_01 VALUES LESS THAN (1801440000000),
+--       PARTITION p_future VALUES LESS THAN MAXVALUE);
+
+-- Every unique key of a partitioned table must contain the partitioning column.
+ALTER TABLE crypto_currency
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, timestamp);
+
+ALTER TABLE crypto_currency
+    PARTITION BY RANGE (timestamp) (
+    PARTITION p2021_01 VALUES LESS THAN (1612137600000),
+    PARTITION p2021_02 VALUES LESS THAN (1614556800000),
+    PARTITION p2021_03 VALUES LESS THAN (1617235200000),
+    PARTITION p2021_04 VALUES LESS THAN (1619827200000),
+    PARTITION p2021_05 VALUES LESS THAN (1622505600000),
+    PARTITION p2021_06 VALUES LESS THAN (1625097600000),
+    PARTITION p2021_07 VALUES LESS THAN (1627776000000),
+    PARTITION p2021_08 VALUES LESS THAN (1630454400000),
+    PARTITION p2021_09 VALUES LESS THAN (1633046400000),
+    PARTITION p2021_10 VALUES LESS THAN (1635724800000),
+    PARTITION p2021_11 VALUES LESS THAN (1638316800000),
+    PARTITION p2021_12 VALUES LESS THAN (1640995200000),
+    PARTITION p2022_01 VALUES LESS THAN (1643673600000),
+    PARTITION p2022_02 VALUES LESS THAN (1646092800000),
+    PARTITION p2022_03 VALUES LESS THAN (1648771200000),
+    PARTITION p2022_04 VALUES LESS THAN (1651363200000),
+    PARTITION p2022_05 VALUES LESS THAN (1654041600000),
+    PARTITION p2022_06 VALUES LESS THAN (1656633600000),
+    PARTITION p2022_07 VALUES LESS THAN (1659312000000),
+    PARTITION p2022_08 VALUES LESS THAN (1661990400000),
+    PARTITION p2022_09 VALUES LESS THAN (1664582400000),
+    PARTITION p2022_10 VALUES LESS THAN (1667260800000),
+    PARTITION p2022_11 VALUES LESS THAN (1669852800000),
+    PARTITION p2022_12 VALUES LESS THAN (1672531200000),
+    PARTITION p2023_01 VALUES LESS THAN (1675209600000),
+    PARTITION p2023_02 VALUES LESS THAN (1677628800000),
+    PARTITION p2023_03 VALUES LESS THAN (1680307200000),
+    PARTITION p2023_04 VALUES LESS THAN (1682899200000),
+    PARTITION p2023_05 VALUES LESS THAN (1685577600000),
+    PARTITION p2023_06 VALUES LESS THAN (1688169600000),
+    PARTITION p2023_07 VALUES LESS THAN (1690848000000),
+    PARTITION p2023_08 VALUES LESS THAN (1693526400000),
+    PARTITION p2023_09 VALUES LESS THAN (1696118400000),
+    PARTITION p2023_10 VALUES LESS THAN (1698796800000),
+    PARTITION p2023_11 VALUES LESS THAN (1701388800000),
+    PARTITION p2023_12 VALUES LESS THAN (1704067200000),
+    PARTITION p2024_01 VALUES LESS THAN (1706745600000),
+    PARTITION p2024_02 VALUES LESS THAN (1709251200000),
+    PARTITION p2024_03 VALUES LESS THAN (1711929600000),
+    PARTITION p2024_04 VALUES LESS THAN (1714521600000),
+    PARTITION p2024_05 VALUES LESS THAN (1717200000000),
+    PARTITION p2024_06 VALUES LESS THAN (1719792000000),
+    PARTITION p2024_07 VALUES LESS THAN (1722470400000),
+    PARTITION p2024_08 VALUES LESS THAN (1725148800000),
+    PARTITION p2024_09 VALUES LESS THAN (1727740800000),
+    PARTITION p2024_10 VALUES LESS THAN (1730419200000),
+    PARTITION p2024_11 VALUES LESS THAN (1733011200000),
+    PARTITION p2024_12 VALUES LESS THAN (1735689600000),
+    PARTITION p2025_01 VALUES LESS THAN (1738368000000),
+    PARTITION p2025_02 VALUES LESS THAN (1740787200000),
+    PARTITION p2025_03 VALUES LESS THAN (1743465600000),
+    PARTITION p2025_04 VALUES LESS THAN (1746057600000),
+    PARTITION p2025_05 VALUES LESS THAN (1748736000000),
+    PARTITION p2025_06 VALUES LESS THAN (1751328000000),
+    PARTITION p2025_07 VALUES LESS THAN (1754006400000),
+    PARTITION p2025_08 VALUES LESS THAN (1756684800000),
+    PARTITION p2025_09 VALUES LESS THAN (1759276800000),
+    PARTITION p2025_10 VALUES LESS THAN (1761955200000),
+    PARTITION p2025_11 VALUES LESS THAN (1764547200000),
+    PARTITION p2025_12 VALUES LESS THAN (1767225600000),
+    PARTITION p2026_01 VALUES LESS THAN (1769904000000),
+    PARTITION p2026_02 VALUES LESS THAN (1772323200000),
+    PARTITION p2026_03 VALUES LESS THAN (1775001600000),
+    PARTITION p2026_04 VALUES LESS THAN (1777593600000),
+    PARTITION p2026_05 VALUES LESS THAN (1780272000000),
+    PARTITION p2026_06 VALUES LESS THAN (1782864000000),
+    PARTITION p2026_07 VALUES LESS THAN (1785542400000),
+    PARTITION p2026_08 VALUES LESS THAN (1788220800000),
+    PARTITION p2026_09 VALUES LESS THAN (1790812800000),
+    PARTITION p2026_10 VALUES LESS THAN (1793491200000),
+    PARTITION p2026_11 VALUES LESS THAN (1796083200000),
+    PARTITION p2026_12 VALUES LESS THAN (1798761600000),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
@@ -1,16 +1,25 @@
 package com.assignment.cryptoanalyzer;
 
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.cache.PriceSeries;
 import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.config.auto.CacheProp;
+import com.assignment.cryptoanalyzer.config.auto.PersistenceProp;
 import com.assignment.cryptoanalyzer.converter.CryptoConverter;
 import com.assignment.cryptoanalyzer.dto.CryptoDTO;
 import com.assignment.cryptoanalyzer.dto.StatsDTO;
 import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
+import com.assignment.cryptoanalyzer.metrics.CryptoMetrics;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import com.assignment.cryptoanalyzer.repository.CryptoJdbcRepository;
 import com.assignment.cryptoanalyzer.repository.CryptoRepository;
 import com.assignment.cryptoanalyzer.service.impl.CryptoServiceImpl;
 import com.assignment.cryptoanalyzer.service.impl.CryptoStatsServiceImpl;
 import com.assignment.cryptoanalyzer.service.impl.FileServiceImpl;
+import com.assignment.cryptoanalyzer.service.impl.SnapshotServiceImpl;
 import com.assignment.cryptoanalyzer.service.interfaces.CryptoStatsService;
 import com.assignment.cryptoanalyzer.util.ApplicationUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -31,10 +40,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -48,6 +59,7 @@ public class ApplicationsUtilsTest {
     ApplicationUtils utils;
     CryptoServiceImpl cryptoService;
     CryptoRepository cryptoRepository;
+    CryptoJdbcRepository cryptoJdbcRepository;
     FileServiceImpl fileService;
     CryptoStatsService cryptoStatsService;
 
@@ -63,9 +75,17 @@ public class ApplicationsUtilsTest {
     public void startUp() {
         utils = mock(ApplicationUtils.class);
         cryptoRepository = mock(CryptoRepository.class);
-        fileService = new FileServiceImpl(applicationProp);
-        cryptoService = new CryptoServiceImpl(cryptoRepository, fileService);
-        cryptoStatsService = new CryptoStatsServiceImpl(applicationProp, cryptoService, converter);
+        cryptoJdbcRepository = mock(CryptoJdbcRepository.class);
+        CryptoMetrics cryptoMetrics = new CryptoMetrics(new SimpleMeterRegistry());
+        fileService = new FileServiceImpl(applicationProp, cryptoMetrics);
+        cryptoService = new CryptoServiceImpl(cryptoRepository, cryptoJdbcRepository, fileService,
+                mock(SnapshotServiceImpl.class), new CacheProp(), new PersistenceProp(), cryptoMetrics);
+        when(cryptoRepository.count()).thenReturn(1L);
+        cryptoService.initialize();
+        CryptoStatsServiceImpl statsService = new CryptoStatsServiceImpl(applicationProp, cryptoService, converter,
+                cryptoRepository, new CacheProp());
+        statsService.initialize();
+        cryptoStatsService = statsService;
 
         when(applicationProp.getCurrencyCode()).thenReturn(List.of("BTC", "ETH"));
         currencyCache.put("BTC", List.of(new CryptoCurrency(null, 1641009600000L, "BTC", BigDecimal.valueOf(46813.21))));
@@ -96,20 +116,17 @@ public class ApplicationsUtilsTest {
                 new CryptoCurrency(null, 1641009600000L, "BTC", BigDecimal.valueOf(46813.21))
         );
 
-        when(fileService.loadDataFromCSV()).thenReturn(allData);
-        when(cryptoRepository.findByCurrencyCode(anyString())).thenReturn(allData);
-        when(cryptoService.getCryptoData("BTC")).thenReturn(allData);
+        storeInDatabase("BTC", allData.toArray(CryptoCurrency[]::new));
 
         // Выполняем тест
-        List<CryptoCurrency> result = cryptoService.getCryptoData("BTC");
+        PriceSeries result = cryptoService.getCryptoData("BTC");
 
         assertEquals(1, result.size(), "The number of elements is not corresponding");
-        CryptoCurrency cryptoElement = result.get(0);
 
         // Проверяем данные
-        assertEquals(1641009600000L, cryptoElement.getTimestamp(), "The timeStamp field value does not correspond");
-        assertEquals("BTC", cryptoElement.getCurrencyCode(), "The currency Code field value does not correspond");
-        assertEquals(BigDecimal.valueOf(46813.21), cryptoElement.getPrice(), "The price field value does not correspond");
+        assertEquals(1641009600000L, result.view().timestampAt(0), "The timeStamp field value does not correspond");
+        assertEquals("BTC", result.getCurrencyCode(), "The currency Code field value does not correspond");
+        assertEquals(BigDecimal.valueOf(46813.21), FixedPointPrice.toDecimal(result.view().priceAt(0)), "The price field value does not correspond");
     }
 
     @Test
@@ -134,8 +151,8 @@ public class ApplicationsUtilsTest {
         CryptoDTO cryptoDTO = CryptoDTO.builder().statsDTO(statsDTO).currencyCode("BTC").build();
 
         when(applicationProp.getCurrencyCode()).thenReturn(List.of("BTC"));
-        when(cryptoRepository.findByCurrencyCode(anyString())).thenReturn(List.of(cryptoCurrency1, cryptoCurrency2));
-        when(cryptoService.getCryptoData("BTC")).thenReturn(List.of(cryptoCurrency1, cryptoCurrency2));
+        storeInDatabase("BTC", cryptoCurrency1, cryptoCurrency2);
+        cryptoService.getCryptoData("BTC");
         when(converter.convertFromModelToDTO(any())).thenReturn(cryptoDTO);
 
         CryptoDTO result = cryptoStatsService.getStatsForCurrency("BTC");
@@ -159,8 +176,10 @@ public class ApplicationsUtilsTest {
         CryptoDTO cryptoDTO2 = CryptoDTO.builder().statsDTO(statsDTO2).currencyCode("ETH").build();
 
         when(applicationProp.getCurrencyCode()).thenReturn(List.of("BTC", "ETH"));
-        when(cryptoService.getCryptoData("BTC")).thenReturn(List.of(crypto1, crypto2));
-        when(cryptoService.getCryptoData("ETH")).thenReturn(List.of(crypto3, crypto4));
+        storeInDatabase("BTC", crypto1, crypto2);
+        storeInDatabase("ETH", crypto3, crypto4);
+        cryptoService.getCryptoData("BTC");
+        cryptoService.getCryptoData("ETH");
         when(converter.convertFromModelToStatsList(any())).thenReturn(List.of(cryptoDTO1,cryptoDTO2));
 
         List<CryptoDTO> stats = cryptoStatsService.getCurrencyStatsOrderNormalizedRange();
@@ -173,5 +192,15 @@ public class ApplicationsUtilsTest {
         assertEquals(BigDecimal.valueOf(3000.00), stats.get(1).getStatsDTO().getMinPrice(), "ETH should have the second highest normalized range");
     }
 
+    /**
+     * Lets the mocked JDBC repository return {@code ticks} as the stored rows of {@code currencyCode}, so the
+     * service loads them into its cache on the first access.
+     */
+    private void storeInDatabase(String currencyCode, CryptoCurrency... ticks) {
+        doAnswer(invocation -> {
+            TickBatch page = TickBatch.of(List.of(ticks));
+            invocation.<Consumer<TickBatch>>getArgument(1).accept(page);
+            return (long) page.size();
+        }).when(cryptoJdbcRepository).readByCurrencyCode(eq(currencyCode), any());
+    }
 }
-
@@ -0,0 +1,55 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointPriceTest {
+
+    @Test
+    void normalizedRange_matchesDecimalDivision() {
+        // Arrange
+        Random random = new Random(7);
+
+        for (int attempt = 0; attempt < 10_000; attempt++) {
+            long min = 1 + (long) (random.nextDouble() * 10_000_000_000_000L);
+            long max = min + (long) (random.nextDouble() * 10_000_000_000_000L);
+
+            // Act
+            long range = FixedPointPrice.normalizedRange(min, max);
+
+            // Assert
+            BigDecimal minPrice = BigDecimal.valueOf(min, FixedPointPrice.SCALE);
+            BigDecimal maxPrice = BigDecimal.valueOf(max, FixedPointPrice.SCALE);
+            BigDecimal expected = maxPrice.subtract(minPrice).divide(minPrice, FixedPointPrice.RANGE_SCALE, RoundingMode.HALF_UP);
+            assertEquals(expected, FixedPointPrice.rangeToDecimal(range), "Range of " + min + " and " + max + " does not match");
+        }
+    }
+
+    @Test
+    void normalizedRange_handlesEdgeCases() {
+        // Act & Assert
+        assertEquals(0L, FixedPointPrice.normalizedRange(0L, 100L), "Zero minimum should give a zero range");
+        assertEquals(0L, FixedPointPrice.normalizedRange(100L, 100L), "Equal prices should give a zero range");
+        assertEquals(50_000L, FixedPointPrice.normalizedRange(2L, 3L), "Half should be exact");
+        assertEquals(33_333L, FixedPointPrice.normalizedRange(3L, 4L), "Thirds should be rounded down");
+        assertEquals(66_667L, FixedPointPrice.normalizedRange(3L, 5L), "Two thirds should be rounded up");
+        assertEquals(new BigDecimal("999999999.00000"), FixedPointPrice.rangeToDecimal(
+                FixedPointPrice.normalizedRange(1_000_000_000L, 1_000_000_000_000_000_000L)), "Large differences should not overflow");
+    }
+
+    @Test
+    void isStorable_allowsTenIntegerDigits() {
+        // Act & Assert
+        assertTrue(FixedPointPrice.isStorable(FixedPointPrice.toScaled(new BigDecimal("9999999999.99999999"))),
+                "Ten integer digits should fit the column");
+        assertFalse(FixedPointPrice.isStorable(FixedPointPrice.toScaled(new BigDecimal("5E10"))),
+                "Eleven integer digits should not fit the column");
+        assertFalse(FixedPointPrice.isStorable(FixedPointPrice.toScaled(new BigDecimal("-10000000000"))),
+                "Eleven integer digits should not fit the column when negative either");
+    }
+}
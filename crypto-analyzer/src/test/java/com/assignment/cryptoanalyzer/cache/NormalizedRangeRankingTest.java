@@ -0,0 +1,64 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NormalizedRangeRankingTest {
+
+    @Test
+    void top_returnsRequestedCurrenciesOrderedByRange() {
+        // Arrange
+        NormalizedRangeRanking ranking = new NormalizedRangeRanking(new SymbolVersions());
+        ranking.update("BTC", 30_000L, 0);
+        ranking.update("ETH", 50_000L, 0);
+        ranking.update("XRP", 70_000L, 0);
+        ranking.update("DOGE", 90_000L, 0);
+
+        // Act
+        ranking.update("BTC", 80_000L, 0);
+        List<NormalizedRangeRanking.Entry> top = ranking.top(Set.of("BTC", "ETH", "XRP"), 2);
+
+        // Assert
+        assertEquals(List.of("BTC", "XRP"), top.stream().map(NormalizedRangeRanking.Entry::getCurrencyCode).toList(),
+                "Only requested currencies should be ranked, highest range first");
+        assertEquals(80_000L, top.get(0).getNormalizedRange(), "Updated range should replace the previous one");
+        assertEquals(3, ranking.top(Set.of("BTC", "ETH", "XRP"), 10).size(), "Every currency should be ranked once");
+    }
+
+    @Test
+    void invalidate_removesCurrencyFromRanking() {
+        // Arrange
+        NormalizedRangeRanking ranking = new NormalizedRangeRanking(new SymbolVersions());
+        ranking.update("BTC", 30_000L, 0);
+        ranking.update("ETH", 50_000L, 0);
+
+        // Act
+        ranking.invalidate("ETH");
+
+        // Assert
+        assertNull(ranking.rangeOf("ETH"), "Invalidated range should be unknown");
+        assertEquals(Long.valueOf(30_000L), ranking.rangeOf("BTC"), "Other ranges should be kept");
+        assertEquals(1, ranking.top(Set.of("BTC", "ETH"), 10).size(), "Invalidated currency should not be ranked");
+    }
+
+    @Test
+    void update_dropsRangeComputedBeforeInvalidation() {
+        // Arrange
+        NormalizedRangeRanking ranking = new NormalizedRangeRanking(new SymbolVersions());
+        long versionBeforeTicks = ranking.version("BTC");
+
+        // Act
+        ranking.invalidate("BTC");
+        boolean staleRecorded = ranking.update("BTC", 30_000L, versionBeforeTicks);
+        boolean freshRecorded = ranking.update("BTC", 40_000L, ranking.version("BTC"));
+
+        // Assert
+        assertFalse(staleRecorded, "Range computed before new ticks should be dropped");
+        assertTrue(freshRecorded, "Range computed after new ticks should be recorded");
+        assertEquals(Long.valueOf(40_000L), ranking.rangeOf("BTC"), "Only the fresh range should be ranked");
+    }
+}
@@ -0,0 +1,141 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceSeriesTest {
+
+    @Test
+    void appendAll_keepsTicksSortedByTimestamp() {
+        // Arrange
+        PriceSeries series = new PriceSeries("BTC");
+
+        // Act
+        series.appendAll(List.of(
+                new CryptoCurrency(null, 1641013200000L, "BTC", BigDecimal.valueOf(47000.00)),
+                new CryptoCurrency(null, 1641009600000L, "BTC", BigDecimal.valueOf(46813.21))
+        ));
+        series.append(1641000000000L, FixedPointPrice.toScaled(BigDecimal.valueOf(46000)));
+
+        // Assert
+        SeriesView view = series.view();
+        assertEquals(3, view.size(), "All ticks should be stored");
+        assertEquals(1641000000000L, view.timestampAt(0), "Oldest tick should be first");
+        assertEquals(1641009600000L, view.timestampAt(1), "Ticks should be ordered by timestamp");
+        assertEquals(1641013200000L, view.timestampAt(2), "Newest tick should be last");
+        assertEquals(new BigDecimal("46813.21"), FixedPointPrice.toDecimal(view.priceAt(1)), "Price should survive the fixed-point round trip");
+    }
+
+    @Test
+    void view_isNotAffectedByLaterAppends() {
+        // Arrange
+        PriceSeries series = new PriceSeries("ETH");
+        for (int i = 0; i < PriceSeries.CHUNK_SIZE; i++) {
+            series.append(1000L + i, i);
+        }
+        SeriesView view = series.view();
+
+        // Act
+        series.append(1L, 42L);
+        series.append(1000L + PriceSeries.CHUNK_SIZE, 7L);
+
+        // Assert
+        assertEquals(PriceSeries.CHUNK_SIZE, view.size(), "View size should be fixed when taken");
+        assertEquals(1000L, view.timestampAt(0), "View content should not change after out-of-order insert");
+        assertEquals(PriceSeries.CHUNK_SIZE + 2, series.size(), "Series should contain the new ticks");
+    }
+
+    @Test
+    void view_isConsistentWhileWriterAppends() throws InterruptedException {
+        // Arrange
+        PriceSeries series = new PriceSeries("DOGE");
+        int ticks = 5 * PriceSeries.CHUNK_SIZE;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < ticks; i++) {
+                series.append(i, 10L * i);
+            }
+        });
+
+        // Act
+        writer.start();
+        int checkedViews = 0;
+        while (writer.isAlive() || checkedViews == 0) {
+            SeriesView view = series.view();
+            for (int i = 0; i < view.size(); i += 97) {
+                // Assert
+                assertEquals(i, view.timestampAt(i), "Published slot should hold its tick");
+                assertEquals(10L * i, view.priceAt(i), "Price should belong to the same tick");
+            }
+            checkedViews++;
+        }
+        writer.join();
+
+        // Assert
+        assertEquals(ticks, series.size(), "All ticks should be appended");
+    }
+
+    @Test
+    void stats_areMaintainedIncrementally() {
+        // Arrange
+        PriceSeries series = new PriceSeries("LTC");
+
+        // Act
+        series.append(2000L, 150L);
+        series.append(3000L, 90L);
+        series.append(1000L, 120L);
+        series.appendBatch(new long[]{4000L, 5000L}, new long[]{200L, 100L}, 2);
+
+        // Assert
+        SeriesStats stats = series.stats();
+        assertEquals(5L, stats.getCount(), "Count does not match");
+        assertEquals(90L, stats.getMinPrice(), "Min price does not match");
+        assertEquals(200L, stats.getMaxPrice(), "Max price does not match");
+        assertEquals(1000L, stats.getOldestTimestamp(), "Oldest timestamp does not match");
+        assertEquals(120L, stats.getOldestPrice(), "Oldest price does not match");
+        assertEquals(5000L, stats.getNewestTimestamp(), "Newest timestamp does not match");
+        assertEquals(100L, stats.getNewestPrice(), "Newest price does not match");
+    }
+
+    @Test
+    void slice_returnsInclusiveTimeRange() {
+        // Arrange
+        PriceSeries series = new PriceSeries("XRP");
+        series.appendBatch(new long[]{100L, 200L, 250L, 300L, 400L}, new long[]{1L, 2L, 3L, 4L, 5L}, 5);
+
+        // Act
+        SeriesView slice = series.slice(200L, 300L);
+        SeriesView empty = series.slice(310L, 390L);
+
+        // Assert
+        assertEquals(3, slice.size(), "Slice should include both boundaries");
+        assertEquals(2L, slice.priceAt(0), "Slice should start at the first matching tick");
+        assertEquals(4L, slice.priceAt(2), "Slice should end at the last matching tick");
+        assertTrue(empty.isEmpty(), "Slice without ticks should be empty");
+        assertEquals(1, slice.slice(300L, 1000L).size(), "Slice of a slice should stay within its bounds");
+    }
+
+    @Test
+    void append_ignoresDuplicateTimestamps() {
+        // Arrange
+        PriceSeries series = new PriceSeries("DOGE");
+        series.appendBatch(new long[]{100L, 200L, 300L}, new long[]{1L, 2L, 3L}, 3);
+
+        // Act
+        series.append(300L, 99L);
+        series.append(200L, 99L);
+        series.appendBatch(new long[]{300L, 400L, 100L, 400L}, new long[]{99L, 4L, 99L, 98L}, 4);
+
+        // Assert
+        assertEquals(4, series.size(), "Duplicate timestamps should not be stored");
+        assertEquals(4L, series.stats().getCount(), "Duplicate timestamps should not be counted");
+        assertEquals(4L, series.stats().getMaxPrice(), "Duplicate prices should not reach the stats");
+        assertEquals(4L, series.rangeStats(0L, 1_000L).getMaxPrice(), "Duplicate prices should not reach the range tree");
+        assertEquals(2L, series.view().priceAt(1), "The first stored price should be kept");
+        assertEquals(4L, series.view().priceAt(3), "The first price of a repeated batch timestamp should be kept");
+    }
+}
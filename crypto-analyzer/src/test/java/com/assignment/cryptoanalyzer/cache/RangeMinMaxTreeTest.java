@@ -0,0 +1,65 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeMinMaxTreeTest {
+
+    @Test
+    void rangeStats_matchesFullScanForRandomWindows() {
+        // Arrange
+        Random random = new Random(42);
+        PriceSeries series = new PriceSeries("BTC");
+        int size = 5_000;
+        long[] timestamps = new long[size];
+        long[] prices = new long[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = 1_000L * i;
+            prices[i] = random.nextInt(1_000_000);
+        }
+        series.appendBatch(timestamps, prices, size / 2);
+        for (int i = size / 2; i < size; i++) {
+            series.append(timestamps[i], prices[i]);
+        }
+
+        for (int attempt = 0; attempt < 500; attempt++) {
+            int from = random.nextInt(size);
+            int to = from + random.nextInt(size - from);
+
+            // Act
+            SeriesStats stats = series.rangeStats(timestamps[from], timestamps[to]);
+
+            // Assert
+            long expectedMin = Long.MAX_VALUE;
+            long expectedMax = Long.MIN_VALUE;
+            for (int i = from; i <= to; i++) {
+                expectedMin = Math.min(expectedMin, prices[i]);
+                expectedMax = Math.max(expectedMax, prices[i]);
+            }
+            assertEquals(to - from + 1, stats.getCount(), "Count does not match");
+            assertEquals(expectedMin, stats.getMinPrice(), "Min price does not match");
+            assertEquals(expectedMax, stats.getMaxPrice(), "Max price does not match");
+            assertEquals(prices[from], stats.getOldestPrice(), "Oldest price does not match");
+            assertEquals(prices[to], stats.getNewestPrice(), "Newest price does not match");
+        }
+    }
+
+    @Test
+    void rangeStats_isUpdatedAfterOutOfOrderInsert() {
+        // Arrange
+        PriceSeries series = new PriceSeries("ETH");
+        for (int i = 0; i < 200; i++) {
+            series.append(10L * i, 500L);
+        }
+
+        // Act
+        series.append(15L, 1L);
+
+        // Assert
+        assertEquals(1L, series.rangeStats(0L, 100L).getMinPrice(), "Inserted tick should be visible to range queries");
+        assertTrue(series.rangeStats(5_000L, 6_000L).isEmpty(), "Window without ticks should be empty");
+    }
+}
@@ -0,0 +1,74 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupIndexTest {
+
+    private static final long DAY_START = 1641081600000L; // 02-01-2022 00:00:00 UTC
+
+    @Test
+    void day_aggregatesTicksOfTheDay() {
+        // Arrange
+        PriceSeries series = new PriceSeries("BTC", ZoneOffset.UTC);
+
+        // Act
+        series.appendBatch(
+                new long[]{DAY_START - 1, DAY_START, DAY_START + 3_600_000L, DAY_START + 7_200_000L},
+                new long[]{999L, 100L, 80L, 130L}, 4);
+        series.append(DAY_START + 60_000L, 150L);
+
+        // Assert
+        RollupBucket bucket = series.rollups().day(LocalDate.of(2022, 1, 2));
+        assertNotNull(bucket, "Day bucket should exist");
+        assertEquals(4L, bucket.getCount(), "Tick from the previous day should not be counted");
+        assertEquals(80L, bucket.getMinPrice(), "Min price does not match");
+        assertEquals(150L, bucket.getMaxPrice(), "Max price does not match");
+        assertEquals(100L, bucket.getFirstPrice(), "First price does not match");
+        assertEquals(130L, bucket.getLastPrice(), "Last price does not match");
+        assertNull(series.rollups().day(LocalDate.of(2022, 1, 3)), "Day without ticks should have no bucket");
+    }
+
+    @Test
+    void hourAndMinuteBuckets_areAlignedToTheirBoundaries() {
+        // Arrange
+        PriceSeries series = new PriceSeries("ETH", ZoneOffset.UTC);
+
+        // Act
+        series.appendBatch(
+                new long[]{DAY_START + 1_000L, DAY_START + 59_000L, DAY_START + 61_000L},
+                new long[]{10L, 30L, 20L}, 3);
+
+        // Assert
+        RollupBucket minute = series.rollups().bucket(RollupGranularity.MINUTE, DAY_START + 30_000L);
+        RollupBucket hour = series.rollups().bucket(RollupGranularity.HOUR, DAY_START);
+        assertEquals(2L, minute.getCount(), "First minute should hold two ticks");
+        assertEquals(30L, minute.getMaxPrice(), "Minute max does not match");
+        assertEquals(3L, hour.getCount(), "Hour should hold all ticks");
+        assertEquals(DAY_START, hour.getStart(), "Hour bucket should start on the hour");
+    }
+
+    @Test
+    void buckets_buildsOnlyNonEmptyHourBucketsInRange() {
+        // Arrange
+        PriceSeries series = new PriceSeries("XRP", ZoneOffset.UTC);
+        series.appendBatch(
+                new long[]{DAY_START + 60_000L, DAY_START + 120_000L, DAY_START + 5 * 3_600_000L, DAY_START + 9 * 3_600_000L},
+                new long[]{10L, 40L, 20L, 30L}, 4);
+
+        // Act
+        NavigableMap<Long, RollupBucket> hours = series.rollups().buckets(RollupGranularity.HOUR, DAY_START, DAY_START + 6 * 3_600_000L);
+
+        // Assert
+        assertEquals(List.of(DAY_START, DAY_START + 5 * 3_600_000L), List.copyOf(hours.keySet()),
+                "Only hours with ticks inside the range should be returned");
+        assertEquals(2L, hours.firstEntry().getValue().getCount(), "First hour should hold two ticks");
+        assertEquals(40L, hours.firstEntry().getValue().getMaxPrice(), "Hour max does not match");
+    }
+}
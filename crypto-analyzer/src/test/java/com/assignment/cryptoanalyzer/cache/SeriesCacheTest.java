@@ -0,0 +1,138 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesCacheTest {
+
+    @Test
+    void get_loadsOnceForConcurrentMisses() throws InterruptedException {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        SeriesCache cache = new SeriesCache(10, 1_000, code -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return seriesOf(code, 1);
+        });
+        List<Thread> threads = new ArrayList<>();
+        List<PriceSeries> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                PriceSeries series = cache.get("BTC");
+                synchronized (results) {
+                    results.add(series);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Act
+        Thread.sleep(100);
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(1, loads.get(), "Concurrent misses should share one load");
+        assertEquals(8, results.size(), "Every caller should get a result");
+        for (PriceSeries series : results) {
+            assertSame(results.get(0), series, "Every caller should get the same series");
+        }
+        assertEquals(1L, cache.stats().getMisses(), "Only the loading caller should count as a miss");
+        assertEquals(7L, cache.stats().getHits(), "Waiting callers should count as hits");
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedSeries() {
+        // Arrange
+        SeriesCache cache = new SeriesCache(2, 1_000, code -> seriesOf(code, 10));
+        cache.get("BTC");
+        cache.get("ETH");
+        cache.get("BTC");
+
+        // Act
+        cache.get("XRP");
+
+        // Assert
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getSymbols(), "Cache should hold at most two currencies");
+        assertEquals(1L, stats.getEvictions(), "One currency should be evicted");
+        assertTrue(cache.loadedSeries().stream().noneMatch(series -> series.getCurrencyCode().equals("ETH")),
+                "Least recently used currency should be evicted");
+    }
+
+    @Test
+    void get_respectsTickBound() {
+        // Arrange
+        SeriesCache cache = new SeriesCache(10, 25, code -> seriesOf(code, 10));
+
+        // Act
+        cache.get("BTC");
+        cache.get("ETH");
+        cache.get("XRP");
+
+        // Assert
+        assertEquals(20L, cache.stats().getTicks(), "Total ticks should stay within the bound");
+    }
+
+    @Test
+    void update_dropsSeriesLoadedAfterWriteStarted() {
+        // Arrange
+        SeriesCache cache = new SeriesCache(10, 1_000, code -> seriesOf(code, 1));
+        long beforeLoad = System.nanoTime();
+        cache.get("BTC");
+        cache.get("ETH");
+        long afterLoad = System.nanoTime();
+
+        // Act
+        cache.update("ETH", afterLoad, series -> series.append(100L, 5L));
+        cache.update("BTC", beforeLoad, series -> series.append(100L, 5L));
+
+        // Assert
+        assertEquals(2, cache.get("ETH").size(), "Series loaded before the write should be updated in place");
+        assertEquals(1, cache.get("BTC").size(), "Series loaded after the write started should be reloaded");
+    }
+
+    @Test
+    void isLoaded_doesNotLoadOrCountAccess() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        SeriesCache cache = new SeriesCache(10, 1_000, code -> {
+            loads.incrementAndGet();
+            return seriesOf(code, 1);
+        });
+
+        // Act
+        boolean before = cache.isLoaded("BTC");
+        cache.get("BTC");
+        boolean after = cache.isLoaded("BTC");
+
+        // Assert
+        assertFalse(before, "Series should not be reported before it is loaded");
+        assertTrue(after, "Series should be reported once it is loaded");
+        assertEquals(1, loads.get(), "Checking should not trigger a load");
+        assertEquals(1L, cache.stats().getMisses(), "Checking should not count as a miss");
+        assertEquals(0L, cache.stats().getHits(), "Checking should not count as a hit");
+    }
+
+    private static PriceSeries seriesOf(String code, int ticks) {
+        PriceSeries series = new PriceSeries(code);
+        for (int i = 0; i < ticks; i++) {
+            series.append(i, 100L + i);
+        }
+        return series;
+    }
+}
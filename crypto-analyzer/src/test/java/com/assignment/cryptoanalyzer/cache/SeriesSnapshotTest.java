@@ -0,0 +1,63 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesSnapshotTest {
+
+    @Test
+    void writeAndOpen_restoreTheSameSeries() throws IOException {
+        // Arrange
+        PriceSeries series = new PriceSeries("BTC");
+        for (int i = 0; i < 10_000; i++) {
+            series.append(1641009600000L + 3_600_000L * i + (i % 7), 4_681_321_000_000L + 17L * i);
+        }
+        Path file = Files.createTempFile("BTC", ".snapshot");
+
+        try {
+            // Act
+            SeriesSnapshot.write(series, file);
+            SeriesSnapshot snapshot = SeriesSnapshot.open(file);
+            PriceSeries restored = snapshot.toSeries();
+
+            // Assert
+            assertEquals("BTC", snapshot.getCurrencyCode(), "Currency code does not match");
+            assertEquals(series.size(), snapshot.getCount(), "Count in the header does not match");
+            assertEquals(series.stats().getNewestTimestamp(), snapshot.getNewestTimestamp(), "Newest timestamp does not match");
+            assertTrue(Files.size(file) < 10_000L * 16, "Timestamps should be delta-encoded");
+            for (int i = 0; i < series.size(); i++) {
+                assertEquals(series.view().timestampAt(i), restored.view().timestampAt(i), "Timestamp does not match");
+                assertEquals(series.view().priceAt(i), restored.view().priceAt(i), "Price does not match");
+            }
+            assertEquals(series.stats().getMaxPrice(), restored.stats().getMaxPrice(), "Stats should be rebuilt");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void open_rejectsTruncatedFile() throws IOException {
+        // Arrange
+        PriceSeries series = new PriceSeries("ETH");
+        series.append(1L, 100L);
+        series.append(2L, 200L);
+        Path file = Files.createTempFile("ETH", ".snapshot");
+
+        try {
+            SeriesSnapshot.write(series, file);
+            byte[] content = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+            // Act & Assert
+            assertThrows(IOException.class, () -> SeriesSnapshot.open(file), "Truncated snapshot should be rejected");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
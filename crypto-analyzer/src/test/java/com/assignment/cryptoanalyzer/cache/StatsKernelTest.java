@@ -0,0 +1,83 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsKernelTest {
+
+    @Test
+    void rangeStats_matchesViewScanAndBruteForce() {
+        // Arrange
+        Random random = new Random(7);
+        PriceSeries series = new PriceSeries("BTC");
+        int size = 20_000;
+        long[] timestamps = new long[size];
+        long[] prices = new long[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = 1_000L * i;
+            prices[i] = 1 + random.nextInt(1_000_000);
+        }
+        series.appendBatch(timestamps, prices, size / 2);
+        for (int i = size / 2; i < size; i++) {
+            series.append(timestamps[i], prices[i]);
+        }
+
+        for (int attempt = 0; attempt < 200; attempt++) {
+            int from = random.nextInt(size);
+            int to = from + random.nextInt(size - from);
+
+            // Act
+            SeriesStats fromTree = series.rangeStats(timestamps[from], timestamps[to]);
+            SeriesStats fromScan = series.slice(timestamps[from], timestamps[to]).stats();
+
+            // Assert
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = from; i <= to; i++) {
+                sum += prices[i];
+                min = Math.min(min, prices[i]);
+                max = Math.max(max, prices[i]);
+            }
+            long expectedAverage = BigDecimal.valueOf(sum)
+                    .divide(BigDecimal.valueOf(to - from + 1), 0, RoundingMode.HALF_UP).longValueExact();
+            for (SeriesStats stats : new SeriesStats[]{fromTree, fromScan}) {
+                assertEquals(to - from + 1, stats.getCount(), "Count does not match");
+                assertEquals(min, stats.getMinPrice(), "Min price does not match");
+                assertEquals(max, stats.getMaxPrice(), "Max price does not match");
+                assertEquals(timestamps[from], stats.getOldestTimestamp(), "Oldest timestamp does not match");
+                assertEquals(prices[to], stats.getNewestPrice(), "Newest price does not match");
+                assertEquals(expectedAverage, stats.getAveragePrice(), "Average price does not match");
+                assertEquals(FixedPointPrice.normalizedRange(min, max), stats.getNormalizedRange(), "Normalized range does not match");
+            }
+        }
+        assertEquals(series.view().stats().getAveragePrice(), series.stats().getAveragePrice(),
+                "Running and scanned statistics should agree");
+    }
+
+    @Test
+    void averagePrice_doesNotOverflowLongSum() {
+        // Arrange
+        StatsKernel kernel = new StatsKernel();
+        long price = Long.MAX_VALUE - 1;
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            kernel.accept(i, price);
+        }
+        kernel.accept(4, 1L);
+        SeriesStats stats = kernel.snapshot();
+
+        // Assert
+        long expected = BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(4)).add(BigDecimal.ONE)
+                .divide(BigDecimal.valueOf(5), 0, RoundingMode.HALF_UP).longValueExact();
+        assertEquals(expected, stats.getAveragePrice(), "Average should be exact beyond the range of a long sum");
+        assertEquals(1L, stats.getMinPrice(), "Min price does not match");
+        assertEquals(1L, stats.getNewestPrice(), "Newest price does not match");
+    }
+}
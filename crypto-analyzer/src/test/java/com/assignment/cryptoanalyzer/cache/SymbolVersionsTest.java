@@ -0,0 +1,25 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolVersionsTest {
+
+    @Test
+    void bump_changesOnlyBumpedCurrencyAndGlobalVersion() {
+        // Arrange
+        SymbolVersions versions = new SymbolVersions();
+
+        // Act
+        versions.bump("BTC");
+        versions.bump("BTC");
+        versions.bump("ETH");
+
+        // Assert
+        assertEquals(2, versions.version("BTC"), "BTC version does not match");
+        assertEquals(1, versions.version("ETH"), "ETH version does not match");
+        assertEquals(0, versions.version("XRP"), "Currency without ticks should stay at version 0");
+        assertEquals(3, versions.globalVersion(), "Global version should count every bump");
+    }
+}
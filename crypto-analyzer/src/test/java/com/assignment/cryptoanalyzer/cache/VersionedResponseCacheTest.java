@@ -0,0 +1,50 @@
+package com.assignment.cryptoanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedResponseCacheTest {
+
+    @Test
+    void get_rendersOncePerVersionAndChangesETagWithVersion() {
+        // Arrange
+        VersionedResponseCache cache = new VersionedResponseCache();
+        SymbolVersions versions = new SymbolVersions();
+        AtomicInteger renders = new AtomicInteger();
+
+        // Act
+        VersionedResponseCache.Entry first = cache.get("symbol:BTC", versions.version("BTC"), () -> render(renders));
+        VersionedResponseCache.Entry repeated = cache.get("symbol:BTC", versions.version("BTC"), () -> render(renders));
+        versions.bump("BTC");
+        VersionedResponseCache.Entry changed = cache.get("symbol:BTC", versions.version("BTC"), () -> render(renders));
+
+        // Assert
+        assertEquals(2, renders.get(), "Response should be rendered once per version");
+        assertSame(first, repeated, "Unchanged version should be served from the cache");
+        assertTrue(first.getETag().startsWith("\"") && first.getETag().endsWith("\""), "ETag should be quoted and strong");
+        assertNotEquals(first.getETag(), changed.getETag(), "New version should get a new ETag");
+        assertEquals("render-2", new String(changed.getBody(), StandardCharsets.UTF_8), "New version should be re-rendered");
+    }
+
+    @Test
+    void get_separateCachesDoNotShareETags() {
+        // Arrange
+        VersionedResponseCache cache = new VersionedResponseCache();
+        VersionedResponseCache restarted = new VersionedResponseCache();
+
+        // Act
+        String eTag = cache.get("normalized:all", 0, () -> new byte[0]).getETag();
+        String restartedETag = restarted.get("normalized:all", 0, () -> new byte[0]).getETag();
+
+        // Assert
+        assertNotEquals(eTag, restartedETag, "ETags should not collide although versions restart at 0");
+    }
+
+    private static byte[] render(AtomicInteger renders) {
+        return ("render-" + renders.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+    }
+}
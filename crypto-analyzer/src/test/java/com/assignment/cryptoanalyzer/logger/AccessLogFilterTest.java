@@ -0,0 +1,94 @@
+package com.assignment.cryptoanalyzer.logger;
+
+import com.assignment.cryptoanalyzer.config.auto.AccessLogProp;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private static final String BODY = "{\"currency\":\"BTC\",\"stats\":{\"min_price\":46813.21}}";
+
+    @Test
+    void doFilter_logsRouteStatusAndSizeWithoutBody() throws ServletException, IOException {
+        // Arrange
+        List<String> entries = new ArrayList<>();
+        AccessLogFilter filter = new AccessLogFilter(new AccessLogProp(), entries::add);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request("/crypto/stats/BTC"), response, chain(200));
+
+        // Assert
+        assertEquals(BODY, response.getContentAsString(), "Body should reach the client unchanged");
+        assertEquals(1, entries.size(), "One entry should be logged");
+        String entry = entries.get(0);
+        assertTrue(entry.contains("\"route\":\"/crypto/stats/{symbol}\""), "Route should be the handler pattern: " + entry);
+        assertTrue(entry.contains("\"status\":200"), "Status should be logged: " + entry);
+        assertTrue(entry.contains("\"bytes\":" + BODY.getBytes(StandardCharsets.UTF_8).length), "Size should be logged: " + entry);
+        assertFalse(entry.contains("\"body\""), "Body should only be logged for configured routes: " + entry);
+    }
+
+    @Test
+    void doFilter_logsCappedBodyForConfiguredRoutes() throws ServletException, IOException {
+        // Arrange
+        List<String> entries = new ArrayList<>();
+        AccessLogProp prop = new AccessLogProp();
+        prop.setBodyRoutes(List.of("/crypto/stats/{symbol}"));
+        prop.setMaxBodyBytes(11);
+        AccessLogFilter filter = new AccessLogFilter(prop, entries::add);
+
+        // Act
+        filter.doFilter(request("/crypto/stats/BTC"), new MockHttpServletResponse(), chain(200));
+
+        // Assert
+        assertTrue(entries.get(0).contains("\"body\":\"{\\\"currency\\\"\""), "Body should be escaped and capped: " + entries.get(0));
+        assertTrue(entries.get(0).contains("\"bodyTruncated\":true"), "Capped body should be marked: " + entries.get(0));
+    }
+
+    @Test
+    void doFilter_samplesSuccessfulRequestsButAlwaysLogsErrorsAndSkipsExcludedRoutes() throws ServletException, IOException {
+        // Arrange
+        List<String> entries = new ArrayList<>();
+        AccessLogProp prop = new AccessLogProp();
+        prop.setSampleRate(0.0);
+        AccessLogFilter filter = new AccessLogFilter(prop, entries::add);
+
+        // Act
+        filter.doFilter(request("/crypto/stats/BTC"), new MockHttpServletResponse(), chain(200));
+        filter.doFilter(request("/crypto/stats/XYZ"), new MockHttpServletResponse(), chain(400));
+        prop.setSampleRate(1.0);
+        filter.doFilter(request("/actuator/prometheus"), new MockHttpServletResponse(), chain(200));
+
+        // Assert
+        assertEquals(1, entries.size(), "Only the failed request should be logged");
+        assertTrue(entries.get(0).contains("\"status\":400"), "Failed request should be logged: " + entries.get(0));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                path.startsWith("/crypto") ? "/crypto/stats/{symbol}" : path);
+        return request;
+    }
+
+    private static FilterChain chain(int status) {
+        return (request, response) -> {
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write(BODY);
+        };
+    }
+}
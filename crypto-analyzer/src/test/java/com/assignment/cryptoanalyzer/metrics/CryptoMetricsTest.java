@@ -0,0 +1,58 @@
+package com.assignment.cryptoanalyzer.metrics;
+
+import com.assignment.cryptoanalyzer.model.CsvReadResult;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CryptoMetricsTest {
+
+    @Test
+    void timeCacheLookup_recordsHitsAndMissesSeparately() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CryptoMetrics metrics = new CryptoMetrics(registry);
+
+        // Act
+        String result = metrics.timeCacheLookup(true, () -> "BTC");
+        metrics.timeCacheLookup(false, () -> "ETH");
+        metrics.timeCacheLookup(false, () -> "XRP");
+        metrics.timeEndpoint(CryptoMetrics.ENDPOINT_SYMBOL, () -> "BTC");
+
+        // Assert
+        assertEquals("BTC", result, "Lookup result should be returned unchanged");
+        assertEquals(1, registry.get("crypto.cache.lookups").tag("result", "hit").timer().count(), "Hits do not match");
+        assertEquals(2, registry.get("crypto.cache.lookups").tag("result", "miss").timer().count(), "Misses do not match");
+        assertEquals(1, registry.get("crypto.stats.requests").tag("endpoint", "symbol").timer().count(),
+                "Endpoint call should be timed");
+        assertEquals(0, registry.get("crypto.stats.requests").tag("endpoint", "range").timer().count(),
+                "Other endpoints should not be affected");
+    }
+
+    @Test
+    void recordCsvParseAndBatchWrite_updateCountersAndTimers() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CryptoMetrics metrics = new CryptoMetrics(registry);
+
+        // Act
+        metrics.recordCsvParse(CryptoMetrics.SOURCE_UPLOAD, new CsvReadResult(900, 100, 1), TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordCsvParse(CryptoMetrics.SOURCE_UPLOAD, new CsvReadResult(100, 0, 1), TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordBatchWrite(5_000, TimeUnit.MILLISECONDS.toNanos(20));
+
+        // Assert
+        assertEquals(1_000, registry.get("crypto.csv.rows").tags("source", "upload", "result", "accepted").counter().count(),
+                "Accepted rows do not match");
+        assertEquals(100, registry.get("crypto.csv.rows").tags("source", "upload", "result", "rejected").counter().count(),
+                "Rejected rows do not match");
+        Timer parse = registry.get("crypto.csv.parse").tag("source", "upload").timer();
+        assertEquals(10, parse.totalTime(TimeUnit.MILLISECONDS), 0.001, "Parse time does not match");
+        assertEquals(20, registry.get("crypto.db.batch.writes").timer().totalTime(TimeUnit.MILLISECONDS), 0.001,
+                "Batch write time does not match");
+        assertEquals(5_000, registry.get("crypto.db.batch.rows").summary().totalAmount(), "Batch rows do not match");
+    }
+}
@@ -0,0 +1,122 @@
+package com.assignment.cryptoanalyzer.repository;
+
+import com.assignment.cryptoanalyzer.config.auto.PersistenceProp;
+import com.assignment.cryptoanalyzer.metrics.CryptoMetrics;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CryptoJdbcRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CryptoJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE crypto_currency ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "timestamp BIGINT NOT NULL, "
+                + "currency_code VARCHAR(10) NOT NULL, "
+                + "price DECIMAL(18, 8) NOT NULL, "
+                + "CONSTRAINT uq_currency_timestamp UNIQUE (currency_code, timestamp))");
+        PersistenceProp persistenceProp = new PersistenceProp();
+        persistenceProp.setBatchSize(2);
+        persistenceProp.setReadPageSize(2);
+        repository = new CryptoJdbcRepository(jdbcTemplate, persistenceProp, new CryptoMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void saveBatch_skipsTicksThatAreAlreadyStored() {
+        // Arrange
+        TickBatch batch = new TickBatch(2);
+        batch.add("BTC", 1_000L, 4_681_321_000_000L);
+        batch.add("BTC", 2_000L, 4_690_000_000_000L);
+        repository.saveBatch(batch);
+
+        // Act
+        TickBatch replayed = new TickBatch(2);
+        replayed.add("BTC", 2_000L, 4_690_000_000_000L);
+        replayed.add("BTC", 3_000L, 4_700_000_000_000L);
+        repository.saveBatch(replayed);
+
+        // Assert
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_currency", Long.class),
+                "Duplicate tick should be skipped without failing the batch");
+    }
+
+    @Test
+    void readByCurrencyCode_readsExactPageMultiplesInOrder() {
+        // Arrange
+        repository.saveBatch(ticks("BTC", 4_000L, 1_000L, 3_000L, 2_000L));
+        repository.saveBatch(ticks("ETH", 1_500L));
+        List<Integer> pageSizes = new ArrayList<>();
+        List<Long> timestamps = new ArrayList<>();
+
+        // Act
+        long total = repository.readByCurrencyCode("BTC", page -> {
+            pageSizes.add(page.size());
+            Arrays.stream(page.getTimestamps(), 0, page.size()).forEach(timestamps::add);
+        });
+
+        // Assert
+        assertEquals(4, total, "Every tick of the currency should be read");
+        assertEquals(List.of(2, 2), pageSizes, "Full pages should be handed over without an empty trailing page");
+        assertEquals(List.of(1_000L, 2_000L, 3_000L, 4_000L), timestamps, "Ticks should be read in timestamp order");
+    }
+
+    @Test
+    void readByCurrencyCode_readsPartialLastPageAndNothingForUnknownCurrency() {
+        // Arrange
+        repository.saveBatch(ticks("BTC", 1_000L, 2_000L, 3_000L));
+        List<Integer> pageSizes = new ArrayList<>();
+
+        // Act
+        long total = repository.readByCurrencyCode("BTC", page -> pageSizes.add(page.size()));
+        long empty = repository.readByCurrencyCode("DOGE", page -> fail("No page should be handed over for a currency without ticks"));
+
+        // Assert
+        assertEquals(3, total, "Every tick of the currency should be read");
+        assertEquals(List.of(2, 1), pageSizes, "Last page should hold the remaining tick");
+        assertEquals(0, empty, "Currency without ticks should read nothing");
+    }
+
+    @Test
+    void readByCurrencyCode_reusesPageSoConsumerMustCopyIt() {
+        // Arrange
+        repository.saveBatch(ticks("BTC", 1_000L, 2_000L, 3_000L));
+        List<TickBatch> kept = new ArrayList<>();
+        List<TickBatch> copied = new ArrayList<>();
+
+        // Act
+        repository.readByCurrencyCode("BTC", page -> {
+            kept.add(page);
+            copied.add(page.filter("BTC"));
+        });
+
+        // Assert
+        assertSame(kept.get(0), kept.get(1), "The same page instance should be refilled");
+        assertEquals(3_000L, kept.get(0).getTimestamps()[0], "Kept reference should show the last page only");
+        assertEquals(1_000L, copied.get(0).getTimestamps()[0], "Copied first page should keep its ticks");
+        assertEquals(3_000L, copied.get(1).getTimestamps()[0], "Copied last page should keep its ticks");
+    }
+
+    private static TickBatch ticks(String currencyCode, long... timestamps) {
+        TickBatch batch = new TickBatch(timestamps.length);
+        for (long timestamp : timestamps) {
+            batch.add(currencyCode, timestamp, timestamp * 1_000L);
+        }
+        return batch;
+    }
+}
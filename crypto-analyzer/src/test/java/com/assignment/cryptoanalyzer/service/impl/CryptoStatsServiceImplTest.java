@@ -1,14 +1,22 @@
 package com.assignment.cryptoanalyzer.service.impl;
 
+import com.assignment.cryptoanalyzer.cache.NormalizedRangeRanking;
+import com.assignment.cryptoanalyzer.cache.PriceSeries;
+import com.assignment.cryptoanalyzer.cache.SymbolVersions;
 import com.assignment.cryptoanalyzer.config.auto.ApplicationProp;
+import com.assignment.cryptoanalyzer.config.auto.CacheProp;
 import com.assignment.cryptoanalyzer.converter.CryptoConverter;
 import com.assignment.cryptoanalyzer.dto.CryptoDTO;
 import com.assignment.cryptoanalyzer.dto.StatsDTO;
 import com.assignment.cryptoanalyzer.entity.CryptoCurrency;
+import com.assignment.cryptoanalyzer.model.CryptoModel;
+import com.assignment.cryptoanalyzer.model.CurrencyAggregate;
+import com.assignment.cryptoanalyzer.repository.CryptoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,9 +24,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,12 +42,15 @@ class CryptoStatsServiceImplTest {
     private CryptoServiceImpl cryptoService;
     @Mock
     private CryptoConverter converter;
+    @Mock
+    private CryptoRepository cryptoRepository;
 
     private CryptoStatsServiceImpl cryptoStatsService;
 
     @BeforeEach
     public void startUp() {
-        cryptoStatsService = new CryptoStatsServiceImpl(applicationProp, cryptoService, converter);
+        cryptoStatsService = new CryptoStatsServiceImpl(applicationProp, cryptoService, converter, cryptoRepository, new CacheProp());
+        cryptoStatsService.initialize();
     }
 
     @Test
@@ -52,10 +66,11 @@ class CryptoStatsServiceImplTest {
     @Test
     void getStatsForCurrency_returnsCorrectStats() {
         // Arrange
-        List<CryptoCurrency> mockData = List.of(
+        PriceSeries mockData = new PriceSeries("BTC");
+        mockData.appendAll(List.of(
                 new CryptoCurrency(null, 1622505600000L, "BTC", BigDecimal.valueOf(50000)), // 01-06-2021
                 new CryptoCurrency(null, 1622592000000L, "BTC", BigDecimal.valueOf(45000))  // 02-06-2021
-        );
+        ));
         StatsDTO statsDTO = StatsDTO.builder()
                 .minPrice(BigDecimal.valueOf(45000))
                 .maxPrice(BigDecimal.valueOf(50000))
@@ -80,11 +95,65 @@ class CryptoStatsServiceImplTest {
         assertEquals("01-06-2021 00:00:00", result.getStatsDTO().getOldestDateTime());
     }
 
+    @Test
+    void getStatsForCurrency_aggregatesColdCurrencyInDatabase() {
+        // Arrange
+        when(applicationProp.getCurrencyCode()).thenReturn(List.of("BTC"));
+        when(cryptoService.isCold("BTC")).thenReturn(true);
+        when(cryptoRepository.findAggregateByCurrencyCode("BTC")).thenReturn(Optional.of(new CurrencyAggregate(
+                "BTC", new BigDecimal("45000.00000000"), new BigDecimal("50000.00000000"), 1622505600000L, 1622592000000L, 2L,
+                new BigDecimal("95000.00000000"))));
+        when(cryptoRepository.findPricesAt("BTC", 1622505600000L)).thenReturn(List.of(new BigDecimal("50000.00000000")));
+        when(cryptoRepository.findPricesAt("BTC", 1622592000000L)).thenReturn(List.of(new BigDecimal("45000.00000000")));
+        ArgumentCaptor<CryptoModel> model = ArgumentCaptor.forClass(CryptoModel.class);
+
+        // Act
+        cryptoStatsService.getStatsForCurrency("BTC");
+
+        // Assert
+        verify(converter).convertFromModelToDTO(model.capture());
+        verify(cryptoService, never()).getCryptoData("BTC");
+        verify(cryptoService).hydrateAsync("BTC");
+        assertEquals(Long.valueOf(4_500_000_000_000L), model.getValue().getMinPrice(), "Min price should come from the aggregate");
+        assertEquals(Long.valueOf(5_000_000_000_000L), model.getValue().getMaxPrice(), "Max price should come from the aggregate");
+        assertEquals(Long.valueOf(4_750_000_000_000L), model.getValue().getAveragePrice(), "Average price should come from the aggregate");
+        assertEquals(Long.valueOf(5_000_000_000_000L), model.getValue().getOldestPrice(), "Oldest price should be looked up by timestamp");
+        assertEquals(Long.valueOf(4_500_000_000_000L), model.getValue().getNewestPrice(), "Newest price should be looked up by timestamp");
+    }
+
     @Disabled
     @Test
     void getCurrencyStatsOrderNormalizedRange() {
     }
 
+    @Test
+    void getCurrencyStatsOrderNormalizedRange_computesOnlyUnrankedCurrencies() {
+        // Arrange
+        NormalizedRangeRanking ranking = new NormalizedRangeRanking(new SymbolVersions());
+        ranking.update("ETH", 50_000L, 0);
+        PriceSeries btc = new PriceSeries("BTC");
+        btc.appendAll(List.of(
+                new CryptoCurrency(null, 1622505600000L, "BTC", BigDecimal.valueOf(45000)),
+                new CryptoCurrency(null, 1622592000000L, "BTC", BigDecimal.valueOf(50000))
+        ));
+        when(applicationProp.getCurrencyCode()).thenReturn(List.of("BTC", "ETH"));
+        when(cryptoService.getRanking()).thenReturn(ranking);
+        when(cryptoService.getCryptoData("BTC")).thenReturn(btc);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CryptoModel>> models = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        cryptoStatsService.getCurrencyStatsOrderNormalizedRange();
+
+        // Assert
+        verify(converter).convertFromModelToStatsList(models.capture());
+        verify(cryptoService, never()).getCryptoData("ETH");
+        assertEquals(List.of("ETH", "BTC"), models.getValue().stream().map(CryptoModel::getCurrencyCode).toList(),
+                "Currencies should be ordered by normalized range, highest first");
+        assertEquals(Long.valueOf(11_111L), models.getValue().get(1).getNormalizedRange(), "Unranked currency should be computed");
+        assertEquals(Long.valueOf(11_111L), ranking.rangeOf("BTC"), "Computed range should be kept in the ranking");
+    }
+
     @Test
     void getStatsByDate() {
     }
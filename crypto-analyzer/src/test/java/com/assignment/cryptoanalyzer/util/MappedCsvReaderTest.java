@@ -0,0 +1,77 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvReaderTest {
+
+    @Test
+    void split_alignsSegmentsToLineStarts() throws IOException {
+        // Arrange
+        Path file = writeFile(100);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            byte[] content = Files.readAllBytes(file);
+
+            // Act
+            List<long[]> segments = MappedCsvReader.split(channel, 50);
+
+            // Assert
+            assertEquals(0L, segments.get(0)[0], "First segment should start at the beginning of the file");
+            assertEquals(content.length, segments.get(segments.size() - 1)[1], "Last segment should end at the end of the file");
+            for (int i = 1; i < segments.size(); i++) {
+                assertEquals(segments.get(i - 1)[1], segments.get(i)[0], "Segments should be contiguous");
+                assertEquals('\n', content[(int) segments.get(i)[0] - 1], "Segment should start right after a line terminator");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void read_returnsAllRowsInFileOrder() throws IOException {
+        // Arrange
+        int rows = 1_000;
+        Path file = writeFile(rows);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // Act
+            List<TickBatch> batches = MappedCsvReader.read(file, List.of("BTC", "ETH"), 64, pool, 512);
+
+            // Assert
+            long expectedTimestamp = 0;
+            for (TickBatch batch : batches) {
+                for (int i = 0; i < batch.size(); i++) {
+                    assertEquals(expectedTimestamp, batch.getTimestamps()[i], "Rows should keep file order");
+                    assertEquals(expectedTimestamp % 2 == 0 ? "BTC" : "ETH", batch.currencyCodeAt(i), "Currency code does not match");
+                    expectedTimestamp++;
+                }
+            }
+            assertEquals(rows, expectedTimestamp, "All rows should be read exactly once");
+        } finally {
+            pool.shutdown();
+            Files.delete(file);
+        }
+    }
+
+    private static Path writeFile(int rows) throws IOException {
+        StringBuilder csv = new StringBuilder("timestamp,symbol,price\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(i % 2 == 0 ? ",BTC," : ",ETH,").append(1000 + i).append(".25\n");
+        }
+        Path file = Files.createTempFile("prices", ".csv");
+        Files.writeString(file, csv);
+        return file;
+    }
+}
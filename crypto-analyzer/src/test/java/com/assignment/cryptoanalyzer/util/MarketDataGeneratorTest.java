@@ -0,0 +1,156 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.config.auto.GeneratorProp;
+import com.assignment.cryptoanalyzer.model.CsvReadResult;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketDataGeneratorTest {
+
+    @Test
+    void generate_emitsReproducibleTimeOrderedTicks() {
+        // Arrange
+        GeneratorProp prop = new GeneratorProp();
+        prop.setSymbolCount(20);
+        prop.setTicksPerSecond(2);
+        prop.setDuration(Duration.ofHours(1));
+        prop.setBatchSize(1_000);
+        prop.setTurbulenceProbability(0.01);
+        MarketDataGenerator generator = new MarketDataGenerator(prop);
+        List<TickBatch> first = new ArrayList<>();
+        List<TickBatch> second = new ArrayList<>();
+
+        // Act
+        long generated = generator.generate(first::add);
+        new MarketDataGenerator(prop).generate(second::add);
+
+        // Assert
+        TickBatch ticks = TickBatch.concat(first);
+        TickBatch repeated = TickBatch.concat(second);
+        assertEquals(generated, ticks.size(), "Every generated tick should reach the sink");
+        assertEquals(generator.expectedTicks(), generated, generator.expectedTicks() * 0.05, "Tick count should follow the tick rate");
+        assertTrue(first.stream().limit(first.size() - 1).allMatch(TickBatch::isFull), "Only the last batch may be partial");
+        assertArrayEquals(Arrays.copyOf(ticks.getPrices(), ticks.size()), Arrays.copyOf(repeated.getPrices(), repeated.size()),
+                "The same seed should yield the same prices");
+
+        long start = prop.getStart().toEpochMilli();
+        long end = start + prop.getDuration().toMillis();
+        Map<String, Long> lastTimestamps = new HashMap<>();
+        for (int i = 0; i < ticks.size(); i++) {
+            long timestamp = ticks.getTimestamps()[i];
+            assertTrue(timestamp >= start && timestamp < end, "Timestamp should lie within the configured span");
+            assertTrue(i == 0 || timestamp >= ticks.getTimestamps()[i - 1], "Ticks should be ordered by timestamp");
+            Long last = lastTimestamps.put(ticks.currencyCodeAt(i), timestamp);
+            assertTrue(last == null || timestamp > last, "Timestamps should be unique per currency");
+            assertTrue(ticks.getPrices()[i] > 0, "Prices should be positive");
+        }
+        assertEquals(20, lastTimestamps.size(), "Every currency should receive ticks");
+    }
+
+    @Test
+    void generate_spacesTicksEvenlyWithoutPoissonArrivals() {
+        // Arrange
+        GeneratorProp prop = new GeneratorProp();
+        prop.setSymbols(List.of("BTC", "ETH"));
+        prop.setTicksPerSecond(1.0 / 60);
+        prop.setPoissonArrivals(false);
+        prop.setDuration(Duration.ofDays(1));
+        List<TickBatch> batches = new ArrayList<>();
+
+        // Act
+        long generated = new MarketDataGenerator(prop).generate(batches::add);
+
+        // Assert
+        TickBatch ticks = TickBatch.concat(batches);
+        assertEquals(2 * 1_440L, generated, "One tick per minute and currency should be generated");
+        assertEquals("BTC", ticks.currencyCodeAt(0), "Ticks with equal timestamps should keep the currency order");
+        assertEquals(60_000L, ticks.getTimestamps()[2] - ticks.getTimestamps()[0], "Ticks should be one minute apart");
+    }
+
+    @Test
+    void symbols_defaultToConfiguredCurrenciesUnlessCountOrCodesAreSet() {
+        // Arrange
+        List<String> currencies = List.of("BTC", "ETH", "DOGE");
+        GeneratorProp unset = new GeneratorProp();
+        GeneratorProp counted = new GeneratorProp();
+        counted.setSymbolCount(2);
+        GeneratorProp listed = new GeneratorProp();
+        listed.setSymbols(List.of("XRP"));
+        listed.setSymbolCount(2);
+
+        // Act
+        List<String> defaults = MarketDataGenerator.symbols(unset, currencies);
+        List<String> madeUp = MarketDataGenerator.symbols(counted, currencies);
+        List<String> explicit = MarketDataGenerator.symbols(listed, currencies);
+
+        // Assert
+        assertEquals(currencies, defaults, "Without codes or count the configured currencies should be generated");
+        assertEquals(List.of("S0001", "S0002"), madeUp, "An explicit count should make up that many codes");
+        assertEquals(List.of("XRP"), explicit, "Explicit codes should win over the count");
+        assertThrows(IllegalArgumentException.class, () -> new MarketDataGenerator(unset),
+                "Nothing to generate should be rejected");
+    }
+
+    @Test
+    void tickFileWriter_writesFilesReadableByParsers() throws IOException {
+        // Arrange
+        GeneratorProp prop = new GeneratorProp();
+        prop.setSymbols(List.of("BTC", "ETH", "DOGE"));
+        prop.setDuration(Duration.ofMinutes(30));
+        prop.setBatchSize(500);
+        prop.setMinInitialPrice(0.05);
+        List<TickBatch> generated = new ArrayList<>();
+        Path csv = Files.createTempFile("generated", ".csv");
+        Path binary = Files.createTempFile("generated", ".bin");
+
+        // Act
+        try (TickFileWriter csvWriter = TickFileWriter.csv(csv); TickFileWriter binaryWriter = TickFileWriter.binary(binary)) {
+            new MarketDataGenerator(prop).generate(batch -> {
+                generated.add(batch);
+                csvWriter.accept(batch);
+                binaryWriter.accept(batch);
+            });
+        }
+        List<TickBatch> fromCsv = new ArrayList<>();
+        CsvReadResult result;
+        try (InputStream in = Files.newInputStream(csv)) {
+            result = new PriceCsvParser(prop.getSymbols()).parse(in, 1_000, fromCsv::add);
+        }
+        List<TickBatch> fromBinary = new ArrayList<>();
+        try (DataInputStream in = TickBatchFile.open(binary)) {
+            TickBatch batch;
+            while ((batch = TickBatchFile.read(in)) != null) {
+                fromBinary.add(batch);
+            }
+        }
+
+        // Assert
+        TickBatch expected = TickBatch.concat(generated);
+        assertEquals(0L, result.getRejectedRows(), "Every generated row should be valid CSV");
+        for (TickBatch actual : List.of(TickBatch.concat(fromCsv), TickBatch.concat(fromBinary))) {
+            assertEquals(expected.size(), actual.size(), "Tick count does not match");
+            assertArrayEquals(Arrays.copyOf(expected.getTimestamps(), expected.size()),
+                    Arrays.copyOf(actual.getTimestamps(), actual.size()), "Timestamps do not match");
+            assertArrayEquals(Arrays.copyOf(expected.getPrices(), expected.size()),
+                    Arrays.copyOf(actual.getPrices(), actual.size()), "Prices do not match");
+            assertEquals(expected.currencyCodeAt(expected.size() - 1), actual.currencyCodeAt(actual.size() - 1),
+                    "Currency code does not match");
+        }
+        Files.delete(csv);
+        Files.delete(binary);
+    }
+}
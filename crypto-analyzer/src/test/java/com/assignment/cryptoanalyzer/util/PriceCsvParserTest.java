@@ -0,0 +1,65 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.cache.FixedPointPrice;
+import com.assignment.cryptoanalyzer.model.CsvReadResult;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceCsvParserTest {
+
+    @Test
+    void parse_readsRowsIntoBatches() throws IOException {
+        // Arrange
+        String csv = "timestamp,symbol,price\r\n"
+                + "1641009600000,BTC,46813.21\r\n"
+                + "1641020400000,ETH,3715.32\n"
+                + "\n"
+                + "1641031200000,BTC,0.000000015";
+        List<TickBatch> batches = new ArrayList<>();
+
+        // Act
+        CsvReadResult result = parse(csv, 2, batches);
+
+        // Assert
+        assertEquals(3L, result.getAcceptedRows(), "All data rows should be accepted");
+        assertEquals(0L, result.getRejectedRows(), "Header and empty lines should not be rejected");
+        assertEquals(2, batches.size(), "Rows should be split into batches of two");
+        assertEquals("ETH", batches.get(0).currencyCodeAt(1), "Currency code does not match");
+        assertEquals(1641009600000L, batches.get(0).getTimestamps()[0], "Timestamp does not match");
+        assertEquals(FixedPointPrice.toScaled(new BigDecimal("46813.21")), batches.get(0).getPrices()[0], "Price does not match");
+        assertEquals(2L, batches.get(1).getPrices()[0], "Price should be rounded half-up to the fixed-point scale");
+    }
+
+    @Test
+    void parse_rejectsMalformedAndUnsupportedRows() throws IOException {
+        // Arrange
+        String csv = "1641009600000,BTC,46813.21\n"
+                + "1641009600000,DOGE,0.17\n"
+                + "not-a-number,BTC,1.0\n"
+                + "1641009600000,BTC,1.2.3\n"
+                + "1641009600000,BTC\n"
+                + "1641009600000,BTC,1.0,extra\n";
+        List<TickBatch> batches = new ArrayList<>();
+
+        // Act
+        CsvReadResult result = parse(csv, 100, batches);
+
+        // Assert
+        assertEquals(1L, result.getAcceptedRows(), "Only the valid row should be accepted");
+        assertEquals(5L, result.getRejectedRows(), "Invalid rows should be rejected");
+    }
+
+    private CsvReadResult parse(String csv, int batchSize, List<TickBatch> batches) throws IOException {
+        PriceCsvParser parser = new PriceCsvParser(List.of("BTC", "ETH"));
+        return parser.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), batchSize, batches::add);
+    }
+}
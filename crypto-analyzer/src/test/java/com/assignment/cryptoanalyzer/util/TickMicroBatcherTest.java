@@ -0,0 +1,143 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.exceptions.IngestBackpressureException;
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickMicroBatcherTest {
+
+    @Test
+    void submit_flushesFullBatchesAndRemainderOnClose() {
+        // Arrange
+        List<TickBatch> written = new CopyOnWriteArrayList<>();
+        TickMicroBatcher batcher = new TickMicroBatcher(4, 60_000, 100, 1, e -> true, written::add);
+
+        // Act
+        batcher.submit(ticks(0, 3), 0);
+        batcher.submit(ticks(3, 7), 0);
+        batcher.close();
+
+        // Assert
+        assertEquals(2, written.size(), "Ticks should be coalesced into a batch of four plus the remainder");
+        assertEquals(4, written.get(0).size(), "First batch should be full");
+        assertEquals(3, written.get(1).size(), "Remainder should be flushed on close");
+        long expected = 0;
+        for (TickBatch batch : written) {
+            for (int i = 0; i < batch.size(); i++) {
+                assertEquals(expected++, batch.getTimestamps()[i], "Ticks should keep submission order");
+            }
+        }
+    }
+
+    @Test
+    void submit_flushesPartialBatchAfterInterval() throws InterruptedException {
+        // Arrange
+        CountDownLatch flushed = new CountDownLatch(1);
+        TickMicroBatcher batcher = new TickMicroBatcher(1_000, 20, 10_000, 1, e -> true, batch -> flushed.countDown());
+
+        // Act
+        batcher.submit(ticks(0, 5), 0);
+
+        // Assert
+        assertTrue(flushed.await(2, TimeUnit.SECONDS), "Partial batch should be flushed by age");
+        batcher.close();
+    }
+
+    @Test
+    void submit_refusesTicksWhenWriterIsBehind() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        TickMicroBatcher batcher = new TickMicroBatcher(5, 60_000, 10, 1, e -> true, batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        batcher.submit(ticks(0, 10), 0);
+
+        // Act & Assert
+        assertThrows(IngestBackpressureException.class, () -> batcher.submit(ticks(10, 11), 0),
+                "Ticks beyond the pending limit should be refused");
+        assertEquals(10L, batcher.pendingTicks(), "Pending ticks should stay at the limit");
+        release.countDown();
+        batcher.close();
+        assertEquals(0L, batcher.pendingTicks(), "Written ticks should release their room");
+    }
+
+    @Test
+    void failingWrites_areRetriedWhileHoldingTheirRoom() throws InterruptedException {
+        // Arrange
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        List<TickBatch> written = new CopyOnWriteArrayList<>();
+        TickMicroBatcher batcher = new TickMicroBatcher(5, 60_000, 10, 1, e -> true, batch -> {
+            if (databaseDown.get()) {
+                throw new IllegalStateException("Database is down");
+            }
+            written.add(batch);
+        });
+
+        // Act
+        batcher.submit(ticks(0, 10), 0);
+
+        // Assert
+        assertTrue(waitFor(() -> batcher.getRetries() >= 2), "Failed batch should be retried");
+        assertThrows(IngestBackpressureException.class, () -> batcher.submit(ticks(10, 11), 0),
+                "Ticks of a failing batch should keep their room, so new ticks are refused");
+        databaseDown.set(false);
+        batcher.close();
+        assertEquals(10, written.stream().mapToInt(TickBatch::size).sum(), "Every accepted tick should be written");
+        assertEquals(0L, batcher.getFailedBatches(), "No batch should be dropped");
+        assertEquals(0L, batcher.pendingTicks(), "Written ticks should release their room");
+    }
+
+    @Test
+    void failingWrites_areDroppedWhenNotRetryable() {
+        // Arrange
+        List<TickBatch> written = new CopyOnWriteArrayList<>();
+        TickMicroBatcher batcher = new TickMicroBatcher(5, 60_000, 10, 1, e -> !(e instanceof IllegalArgumentException), batch -> {
+            if (batch.getPrices()[0] == 100L) {
+                throw new IllegalArgumentException("Price out of range");
+            }
+            written.add(batch);
+        });
+
+        // Act
+        batcher.submit(ticks(0, 10), 0);
+        batcher.close();
+
+        // Assert
+        assertEquals(1L, batcher.getFailedBatches(), "The failing batch should be dropped");
+        assertEquals(0L, batcher.getRetries(), "A failure that is not retryable should not be retried");
+        assertEquals(5, written.stream().mapToInt(TickBatch::size).sum(), "Later batches should still be written");
+        assertEquals(0L, batcher.pendingTicks(), "A dropped batch should release its room");
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static TickBatch ticks(int from, int to) {
+        TickBatch batch = new TickBatch(to - from);
+        for (int i = from; i < to; i++) {
+            batch.add("BTC", i, 100L + i);
+        }
+        return batch;
+    }
+}
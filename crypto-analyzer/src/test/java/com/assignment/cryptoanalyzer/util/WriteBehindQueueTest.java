@@ -0,0 +1,164 @@
+package com.assignment.cryptoanalyzer.util;
+
+import com.assignment.cryptoanalyzer.model.TickBatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+
+    @Test
+    void enqueue_writesBatchesInOrder() throws IOException {
+        // Arrange
+        List<TickBatch> written = new CopyOnWriteArrayList<>();
+        WriteBehindQueue queue = new WriteBehindQueue(written::add, 100, 0, 0, spillFile());
+
+        // Act
+        queue.enqueue(ticks("BTC", 0, 3), 0);
+        queue.enqueue(ticks("BTC", 3, 5), 0);
+        queue.close();
+
+        // Assert
+        assertEquals(2, written.size(), "Every queued batch should be written");
+        assertEquals(0L, written.get(0).getTimestamps()[0], "Batches should be written in queue order");
+        assertEquals(3L, written.get(1).getTimestamps()[0], "Batches should be written in queue order");
+        assertEquals(5L, queue.getWrittenTicks(), "Written ticks should be counted");
+        assertEquals(0L, queue.getQueuedTicks(), "Written ticks should release their room");
+    }
+
+    @Test
+    void pendingTicks_returnsUnwrittenTicksOfCurrency() throws InterruptedException, IOException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindQueue queue = new WriteBehindQueue(batch -> await(release), 100, 0, 0, spillFile());
+        TickBatch batch = ticks("BTC", 0, 3);
+        batch.add("ETH", 10, 1_000);
+
+        // Act
+        queue.enqueue(batch, 0);
+        TickBatch pending = queue.pendingTicks("ETH");
+
+        // Assert
+        assertEquals(1, pending.size(), "Only ticks of the requested currency should be returned");
+        assertEquals(10L, pending.getTimestamps()[0], "Pending tick should keep its timestamp");
+        assertEquals(4L, queue.getQueuedTicks(), "Unwritten ticks should be counted as queued");
+        assertTrue(queue.hasPendingTicks("ETH"), "Queued ticks should be counted per currency");
+        assertFalse(queue.hasPendingTicks("DOGE"), "A currency without queued ticks should have none pending");
+        release.countDown();
+        queue.close();
+        assertEquals(0, queue.pendingTicks("ETH").size(), "Written ticks should no longer be pending");
+        assertFalse(queue.hasPendingTicks("ETH"), "Written ticks should no longer be counted");
+    }
+
+    @Test
+    void failingWrites_areSpilledAndReplayedWhenDatabaseRecovers() throws InterruptedException, IOException {
+        // Arrange
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        List<TickBatch> written = new CopyOnWriteArrayList<>();
+        Path spillFile = spillFile();
+        WriteBehindQueue queue = new WriteBehindQueue(batch -> {
+            if (databaseDown.get()) {
+                throw new IllegalStateException("Database is down");
+            }
+            written.add(batch);
+        }, 100, 1, 1, spillFile);
+
+        // Act
+        queue.enqueue(ticks("BTC", 0, 3), 0);
+        queue.enqueue(ticks("BTC", 3, 5), 0);
+
+        // Assert
+        assertTrue(waitFor(() -> queue.getSpilledTicks() == 5), "Failed batches should be spilled to disk");
+        assertTrue(Files.exists(spillFile), "Spill file should be created");
+        assertEquals(5, queue.pendingTicks("BTC").size(), "Spilled ticks should still be pending");
+        assertTrue(queue.hasPendingTicks("BTC"), "Spilled ticks should still be counted");
+        assertTrue(queue.getRetries() >= 2, "Every failed batch should be retried");
+
+        databaseDown.set(false);
+        assertTrue(waitFor(() -> queue.getSpilledTicks() == 0), "Spilled ticks should be replayed");
+        queue.close();
+        assertEquals(2, written.size(), "Replay should write every spilled batch");
+        assertEquals(0L, written.get(0).getTimestamps()[0], "Replay should start with the oldest batch");
+        assertEquals(0, queue.pendingTicks("BTC").size(), "Replayed ticks should no longer be pending");
+        assertFalse(queue.hasPendingTicks("BTC"), "Replayed ticks should no longer be counted");
+    }
+
+    @Test
+    void leftoverReplayFile_isReplayedBeforeSpillFileAndNotOverwritten() throws InterruptedException, IOException {
+        // Arrange
+        Path spillFile = spillFile();
+        writeBatches(spillFile.resolveSibling(spillFile.getFileName() + ".replay"), ticks("BTC", 0, 2), ticks("BTC", 2, 4));
+        writeBatches(spillFile, ticks("BTC", 4, 5));
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        List<TickBatch> written = new CopyOnWriteArrayList<>();
+
+        // Act
+        WriteBehindQueue queue = new WriteBehindQueue(batch -> {
+            if (databaseDown.get()) {
+                throw new IllegalStateException("Database is down");
+            }
+            written.add(batch);
+        }, 100, 0, 0, spillFile);
+
+        // Assert
+        assertEquals(5, queue.getSpilledTicks(), "Ticks of the leftover replay file should be counted");
+        assertEquals(5, queue.pendingTicks("BTC").size(), "Ticks of the leftover replay file should be pending");
+        assertTrue(queue.hasPendingTicks("BTC"), "Ticks found in the spill files on startup should be counted");
+        databaseDown.set(false);
+        assertTrue(waitFor(() -> queue.getSpilledTicks() == 0), "Leftover ticks should be replayed");
+        queue.close();
+        assertEquals(List.of(0L, 2L, 4L), written.stream().map(batch -> batch.getTimestamps()[0]).toList(),
+                "Leftover replay file should be replayed before the spill file");
+        assertFalse(Files.exists(spillFile.resolveSibling(spillFile.getFileName() + ".replay")),
+                "Replay file should be removed after the replay");
+    }
+
+    private static void writeBatches(Path file, TickBatch... batches) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (TickBatch batch : batches) {
+                TickBatchFile.write(out, batch);
+            }
+        }
+    }
+
+    private static Path spillFile() throws IOException {
+        return Files.createTempDirectory("spill").resolve("pending-ticks.bin");
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TickBatch ticks(String currencyCode, int from, int to) {
+        TickBatch batch = new TickBatch(to - from + 1);
+        for (int i = from; i < to; i++) {
+            batch.add(currencyCode, i, 100L + i);
+        }
+        return batch;
+    }
+}